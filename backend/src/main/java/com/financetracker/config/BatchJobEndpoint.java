@@ -0,0 +1,33 @@
+package com.financetracker.config;
+
+import com.financetracker.dto.BatchJobStatusDto;
+import com.financetracker.service.BatchJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint to start batch recomputes and follow their progress; only exposed when
+ * listed in ACTUATOR_ENDPOINTS, since any signed-in user can reach exposed endpoints
+ */
+@Component
+@Endpoint(id = "batchjobs")
+public class BatchJobEndpoint {
+
+    @Autowired
+    private BatchJobService batchJobService;
+
+    @ReadOperation
+    public List<BatchJobStatusDto> jobs() {
+        return batchJobService.getJobs();
+    }
+
+    @WriteOperation
+    public BatchJobStatusDto start(String task) {
+        return batchJobService.start(task);
+    }
+}
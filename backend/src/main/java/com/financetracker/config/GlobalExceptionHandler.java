@@ -1,7 +1,11 @@
 package com.financetracker.config;
 
 import com.financetracker.dto.ApiResponseDto;
+import com.financetracker.exception.DomainException;
+import com.financetracker.exception.LoginThrottledException;
+import com.financetracker.exception.PasswordHashingBusyException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -10,7 +14,9 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.util.DisconnectedClientHelper;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -42,6 +48,34 @@ public class GlobalExceptionHandler {
                 .body(ApiResponseDto.error("Invalid email or password"));
     }
 
+    /**
+     * Expected business outcomes; these carry no stack trace and are not worth more than a debug line
+     */
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ApiResponseDto<String>> handleDomain(
+            DomainException ex, WebRequest request) {
+        log.debug("{}: {}", ex.getStatus(), ex.getMessage());
+        return ResponseEntity.status(ex.getStatus())
+                .body(ApiResponseDto.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<ApiResponseDto<String>> handleLoginThrottled(
+            LoginThrottledException ex, WebRequest request) {
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponseDto.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ApiResponseDto<String>> handlePasswordHashingBusy(
+            PasswordHashingBusyException ex, WebRequest request) {
+        log.warn("Password hashing executor saturated, rejecting request");
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponseDto.error(ex.getMessage()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiResponseDto<String>> handleIllegalArgument(
             IllegalArgumentException ex, WebRequest request) {
@@ -50,6 +84,19 @@ public class GlobalExceptionHandler {
                 .body(ApiResponseDto.error(ex.getMessage()));
     }
 
+    /**
+     * A client that went away mid-response, typically an event stream; nothing can be written back
+     */
+    @ExceptionHandler(IOException.class)
+    public ResponseEntity<ApiResponseDto<String>> handleIo(
+            IOException ex, WebRequest request) {
+        if (DisconnectedClientHelper.isClientDisconnectedException(ex)) {
+            log.debug("Client disconnected: {}", ex.getMessage());
+            return null;
+        }
+        return handleGeneral(ex, request);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ApiResponseDto<String>> handleRuntime(
             RuntimeException ex, WebRequest request) {
@@ -3,15 +3,19 @@ package com.financetracker.controller;
 import com.financetracker.dto.ApiResponseDto;
 import com.financetracker.dto.LoginRequestDto;
 import com.financetracker.dto.LoginResponseDto;
+import com.financetracker.dto.RefreshTokenRequestDto;
 import com.financetracker.dto.RegisterRequestDto;
 import com.financetracker.entity.User;
+import com.financetracker.security.AuthenticatedUser;
 import com.financetracker.service.AuthService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 /**
@@ -34,11 +38,27 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponseDto<LoginResponseDto>> login(@Valid @RequestBody LoginRequestDto request) {
-        LoginResponseDto response = authService.login(request);
+    public ResponseEntity<ApiResponseDto<LoginResponseDto>> login(
+            @Valid @RequestBody LoginRequestDto request,
+            HttpServletRequest httpRequest) {
+        LoginResponseDto response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(ApiResponseDto.success(response, "Login successful"));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponseDto<LoginResponseDto>> refresh(@Valid @RequestBody RefreshTokenRequestDto request) {
+        LoginResponseDto response = authService.refresh(request);
+        return ResponseEntity.ok(ApiResponseDto.success(response, "Token refreshed successfully"));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponseDto<Void>> logout(
+            @RequestBody(required = false) RefreshTokenRequestDto request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        authService.logout(user, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.ok(ApiResponseDto.success(null, "Logged out successfully"));
+    }
+
     @GetMapping("/validate")
     public ResponseEntity<ApiResponseDto<String>> validateToken() {
         return ResponseEntity.ok(ApiResponseDto.success("Valid token", "Token is valid"));
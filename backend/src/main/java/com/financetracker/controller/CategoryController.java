@@ -2,12 +2,13 @@ package com.financetracker.controller;
 
 import com.financetracker.dto.ApiResponseDto;
 import com.financetracker.dto.CategoryDto;
+import com.financetracker.security.AuthenticatedUser;
 import com.financetracker.service.CategoryService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -27,37 +28,40 @@ public class CategoryController {
     @PostMapping
     public ResponseEntity<ApiResponseDto<CategoryDto>> createCategory(
             @RequestBody CategoryDto request,
-            Authentication authentication) {
-        CategoryDto category = categoryService.createCategory(authentication.getName(), request);
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        CategoryDto category = categoryService.createCategory(user.id(), request);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponseDto.success(category, "Category created successfully"));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponseDto<List<CategoryDto>>> getCategories(Authentication authentication) {
-        List<CategoryDto> categories = categoryService.getUserCategories(authentication.getName());
+    public ResponseEntity<ApiResponseDto<List<CategoryDto>>> getCategories(@AuthenticationPrincipal AuthenticatedUser user) {
+        List<CategoryDto> categories = categoryService.getUserCategories(user.id());
         return ResponseEntity.ok(ApiResponseDto.success(categories, "Categories retrieved successfully"));
     }
 
     @GetMapping("/type/{type}")
     public ResponseEntity<ApiResponseDto<List<CategoryDto>>> getCategoriesByType(
             @PathVariable String type,
-            Authentication authentication) {
-        List<CategoryDto> categories = categoryService.getCategoriesByType(authentication.getName(), type);
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        List<CategoryDto> categories = categoryService.getCategoriesByType(user.id(), type);
         return ResponseEntity.ok(ApiResponseDto.success(categories, "Categories retrieved successfully"));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponseDto<CategoryDto>> updateCategory(
             @PathVariable Long id,
-            @RequestBody CategoryDto request) {
-        CategoryDto category = categoryService.updateCategory(id, request);
+            @RequestBody CategoryDto request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        CategoryDto category = categoryService.updateCategory(user.id(), id, request);
         return ResponseEntity.ok(ApiResponseDto.success(category, "Category updated successfully"));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<ApiResponseDto<Void>> deleteCategory(@PathVariable Long id) {
-        categoryService.deleteCategory(id);
+    public ResponseEntity<ApiResponseDto<Void>> deleteCategory(
+            @PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        categoryService.deleteCategory(user.id(), id);
         return ResponseEntity.ok(ApiResponseDto.success(null, "Category deleted successfully"));
     }
 }
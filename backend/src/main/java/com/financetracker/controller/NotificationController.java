@@ -0,0 +1,28 @@
+package com.financetracker.controller;
+
+import com.financetracker.security.AuthenticatedUser;
+import com.financetracker.service.NotificationHub;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Notification controller for the per-user Server-Sent Events stream
+ */
+@RestController
+@RequestMapping("/notifications")
+@Slf4j
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class NotificationController {
+
+    @Autowired
+    private NotificationHub notificationHub;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal AuthenticatedUser user) {
+        return notificationHub.subscribe(user.id(), user.tokenExpiresAt());
+    }
+}
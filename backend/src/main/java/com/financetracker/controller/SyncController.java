@@ -0,0 +1,34 @@
+package com.financetracker.controller;
+
+import com.financetracker.dto.ApiResponseDto;
+import com.financetracker.dto.SyncResponseDto;
+import com.financetracker.security.AuthenticatedUser;
+import com.financetracker.service.SyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Sync controller for delta synchronization of offline clients
+ */
+@RestController
+@RequestMapping("/sync")
+@Slf4j
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponseDto<SyncResponseDto>> sync(
+            @RequestParam String deviceId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "500") int size,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        SyncResponseDto changes = syncService.sync(user.id(), deviceId, cursor, size);
+        return ResponseEntity.ok(ApiResponseDto.success(changes, "Changes retrieved successfully"));
+    }
+}
@@ -0,0 +1,27 @@
+package com.financetracker.dto;
+
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a batch job; rate and ETA are only set while it runs
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchJobStatusDto {
+    private Long id;
+    private String task;
+    private String status;
+    private long totalUsers;
+    private long usersProcessed;
+    private long usersFailed;
+    private long corrections;
+    private int partitions;
+    private int partitionsDone;
+    private Double usersPerSecond;
+    private Long etaSeconds;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,18 @@
+package com.financetracker.dto;
+
+import lombok.*;
+import java.util.List;
+
+/**
+ * Outcome of a statement import; only the first rejected rows are listed in errors
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportResultDto {
+    private long imported;
+    private long failed;
+    private List<ImportRowErrorDto> errors;
+    private boolean errorsTruncated;
+}
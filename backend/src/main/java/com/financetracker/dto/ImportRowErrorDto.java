@@ -0,0 +1,15 @@
+package com.financetracker.dto;
+
+import lombok.*;
+
+/**
+ * A statement row that was rejected during import
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRowErrorDto {
+    private long line;
+    private String message;
+}
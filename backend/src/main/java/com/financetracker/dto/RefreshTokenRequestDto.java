@@ -0,0 +1,17 @@
+package com.financetracker.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+/**
+ * Refresh token request DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshTokenRequestDto {
+
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
@@ -0,0 +1,22 @@
+package com.financetracker.dto;
+
+import lombok.*;
+import java.util.List;
+
+/**
+ * Changes since a sync cursor. Transactions and categories are upserts; full means the client
+ * must replace its local copy, either on first sync or when its cursor can no longer be served.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncResponseDto {
+    private String cursor;
+    private boolean full;
+    private boolean hasMore;
+    private List<TransactionDto> transactions;
+    private List<CategoryDto> categories;
+    private List<Long> deletedTransactionIds;
+    private List<Long> deletedCategoryIds;
+}
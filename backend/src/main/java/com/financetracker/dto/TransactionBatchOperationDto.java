@@ -0,0 +1,17 @@
+package com.financetracker.dto;
+
+import lombok.*;
+
+/**
+ * One operation of a transaction batch: CREATE with transaction, UPDATE with id and
+ * transaction, or DELETE with id
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionBatchOperationDto {
+    private String operation;
+    private Long id;
+    private TransactionDto transaction;
+}
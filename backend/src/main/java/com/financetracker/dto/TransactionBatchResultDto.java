@@ -0,0 +1,19 @@
+package com.financetracker.dto;
+
+import lombok.*;
+
+/**
+ * Outcome of one batch operation, matched to the request by index
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionBatchResultDto {
+    private int index;
+    private String operation;
+    private boolean success;
+    private Long id;
+    private TransactionDto transaction;
+    private String error;
+}
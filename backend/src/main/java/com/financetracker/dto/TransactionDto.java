@@ -1,5 +1,7 @@
 package com.financetracker.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.financetracker.entity.Transaction;
 import lombok.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -22,4 +24,33 @@ public class TransactionDto {
     private String categoryName;
     private LocalDate transactionDate;
     private LocalDateTime createdAt;
+
+    /**
+     * Stored transaction timestamp, kept for building keyset cursors; only set by projections
+     */
+    @JsonIgnore
+    private LocalDateTime transactionDateTime;
+
+    /**
+     * Data version of the last write, kept for building sync cursors; only set by sync projections
+     */
+    @JsonIgnore
+    private Long changeVersion;
+
+    /**
+     * Constructor used by JPQL projection queries, which select the entity's column types
+     */
+    public TransactionDto(Long id, String title, String description, BigDecimal amount,
+                          Transaction.TransactionType type, Long categoryId, String categoryName,
+                          LocalDateTime transactionDate, LocalDateTime createdAt) {
+        this(id, title, description, amount, type.toString(), categoryId, categoryName,
+                transactionDate.toLocalDate(), createdAt, transactionDate, null);
+    }
+
+    public TransactionDto(Long id, String title, String description, BigDecimal amount,
+                          Transaction.TransactionType type, Long categoryId, String categoryName,
+                          LocalDateTime transactionDate, LocalDateTime createdAt, Long changeVersion) {
+        this(id, title, description, amount, type.toString(), categoryId, categoryName,
+                transactionDate.toLocalDate(), createdAt, transactionDate, changeVersion);
+    }
 }
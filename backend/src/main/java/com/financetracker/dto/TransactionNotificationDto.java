@@ -0,0 +1,23 @@
+package com.financetracker.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pushed when a transaction is written; the fields describe the transaction after the change,
+ * or before it for deletes, and are empty for bulk imports
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionNotificationDto {
+    private String change;
+    private Long id;
+    private String title;
+    private BigDecimal amount;
+    private String type;
+    private Long categoryId;
+    private LocalDate transactionDate;
+}
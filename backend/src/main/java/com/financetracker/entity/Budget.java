@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class Budget {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budgets_seq")
+    @SequenceGenerator(name = "budgets_seq", sequenceName = "budgets_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -8,7 +8,9 @@ import java.time.LocalDateTime;
  * Category entity representing expense/income categories
  */
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+        @Index(name = "idx_categories_user_change", columnList = "user_id, change_version")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,7 +18,8 @@ import java.time.LocalDateTime;
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_seq")
+    @SequenceGenerator(name = "categories_seq", sequenceName = "categories_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -36,6 +39,12 @@ public class Category {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    /**
+     * User data version of the last write to this category, used as the delta sync position
+     */
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,47 @@
+package com.financetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+
+/**
+ * Per-user monthly totals by category and type, maintained alongside transaction writes
+ * so range summaries read one row per month instead of one per transaction
+ */
+@Entity
+@Table(name = "transaction_monthly_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_bucket",
+                columnNames = {"user_id", "year_month", "category_id", "type"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_monthly_rollups_seq")
+    @SequenceGenerator(name = "transaction_monthly_rollups_seq", sequenceName = "transaction_monthly_rollups_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Calendar month encoded as yyyymm, e.g. 202405
+     */
+    @Column(name = "year_month", nullable = false)
+    private Integer yearMonth;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Transaction.TransactionType type;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+}
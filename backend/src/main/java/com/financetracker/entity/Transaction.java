@@ -9,7 +9,12 @@ import java.time.LocalDateTime;
  * Transaction entity representing expense or income transactions
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_user_date_id", columnList = "user_id, transaction_date DESC, id DESC"),
+        @Index(name = "idx_transactions_user_category_date",
+                columnList = "user_id, category_id, transaction_date DESC, id DESC"),
+        @Index(name = "idx_transactions_user_change", columnList = "user_id, change_version, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,7 +22,8 @@ import java.time.LocalDateTime;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -44,6 +50,12 @@ public class Transaction {
     @Column(name = "transaction_date", nullable = false)
     private LocalDateTime transactionDate;
 
+    /**
+     * User data version of the last write to this transaction, used as the delta sync position
+     */
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
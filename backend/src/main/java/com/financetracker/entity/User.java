@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -37,6 +38,12 @@ public class User {
     @Column(nullable = false)
     private Boolean active;
 
+    /**
+     * Bumped by every write to the user's data; only changed through UserRepository.incrementDataVersion
+     */
+    @Column(name = "data_version", nullable = false, updatable = false)
+    private Long dataVersion;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -49,6 +56,7 @@ public class User {
         updatedAt = LocalDateTime.now();
         active = true;
         currency = "USD";
+        dataVersion = 0L;
     }
 
     @PreUpdate
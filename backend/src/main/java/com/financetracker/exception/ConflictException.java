@@ -0,0 +1,17 @@
+package com.financetracker.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a write would violate a uniqueness rule or a single-instance constraint
+ */
+public class ConflictException extends DomainException {
+
+    public static final ConflictException EMAIL_TAKEN = new ConflictException("User already exists with this email");
+
+    public static final ConflictException BATCH_JOB_RUNNING = new ConflictException("A batch job is already running");
+
+    public ConflictException(String message) {
+        super(message, HttpStatus.CONFLICT);
+    }
+}
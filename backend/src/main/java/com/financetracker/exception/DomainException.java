@@ -0,0 +1,22 @@
+package com.financetracker.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base class for expected business outcomes such as missing or conflicting records.
+ * These are control flow rather than failures, so no stack trace is captured and the
+ * instances are immutable and safe to share.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    protected DomainException(String message, HttpStatus status) {
+        super(message, null, false, false);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
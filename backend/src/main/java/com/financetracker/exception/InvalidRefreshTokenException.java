@@ -0,0 +1,13 @@
+package com.financetracker.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a refresh token is unknown, expired, revoked or has already been rotated
+ */
+public class InvalidRefreshTokenException extends DomainException {
+
+    public InvalidRefreshTokenException() {
+        super("Invalid or expired refresh token", HttpStatus.UNAUTHORIZED);
+    }
+}
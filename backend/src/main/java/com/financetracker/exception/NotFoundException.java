@@ -0,0 +1,18 @@
+package com.financetracker.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a record does not exist or does not belong to the current user
+ */
+public class NotFoundException extends DomainException {
+
+    public static final NotFoundException USER = new NotFoundException("User not found");
+    public static final NotFoundException CATEGORY = new NotFoundException("Category not found");
+    public static final NotFoundException TRANSACTION = new NotFoundException("Transaction not found");
+    public static final NotFoundException BUDGET = new NotFoundException("Budget not found");
+
+    public NotFoundException(String message) {
+        super(message, HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,37 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.BatchJobPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Batch job partition repository for database operations
+ */
+@Repository
+public interface BatchJobPartitionRepository extends JpaRepository<BatchJobPartition, Long> {
+
+    List<BatchJobPartition> findByJobIdAndDoneFalseOrderByPartitionIndex(Long jobId);
+
+    /**
+     * Users processed and failed, corrections made and partition count over the job's finished partitions
+     */
+    @Query("SELECT COALESCE(SUM(p.usersProcessed), 0), COALESCE(SUM(p.usersFailed), 0), " +
+            "COALESCE(SUM(p.corrections), 0), COUNT(p) " +
+            "FROM BatchJobPartition p WHERE p.jobId = :jobId AND p.done = true")
+    List<Object[]> sumFinished(@Param("jobId") Long jobId);
+
+    @Modifying
+    @Query("UPDATE BatchJobPartition p SET p.done = true, p.usersProcessed = :processed, " +
+            "p.usersFailed = :failed, p.corrections = :corrections, p.finishedAt = :finishedAt WHERE p.id = :id")
+    int markDone(@Param("id") Long id,
+                 @Param("processed") long processed,
+                 @Param("failed") long failed,
+                 @Param("corrections") long corrections,
+                 @Param("finishedAt") LocalDateTime finishedAt);
+}
@@ -0,0 +1,18 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.BatchJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Batch job repository for database operations
+ */
+@Repository
+public interface BatchJobRepository extends JpaRepository<BatchJob, Long> {
+
+    List<BatchJob> findByStatus(BatchJob.Status status);
+
+    List<BatchJob> findTop10ByOrderByIdDesc();
+}
@@ -0,0 +1,32 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.SyncTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Sync tombstone repository for database operations
+ */
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    @Query("SELECT t FROM SyncTombstone t WHERE t.userId = :userId " +
+            "AND t.changeVersion > :after AND t.changeVersion <= :upTo")
+    List<SyncTombstone> findChanged(@Param("userId") Long userId,
+                                    @Param("after") long after,
+                                    @Param("upTo") long upTo);
+
+    /**
+     * Drops tombstones that no registered device of their user still needs; with no
+     * devices left every tombstone goes, since a new device starts from a full sync
+     */
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE NOT EXISTS (SELECT 1 FROM SyncDevice d " +
+            "WHERE d.userId = t.userId AND d.lastVersion < t.changeVersion)")
+    int deleteAcknowledged();
+}
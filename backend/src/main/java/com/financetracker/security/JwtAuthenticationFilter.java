@@ -23,8 +23,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private JwtTokenProvider tokenProvider;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider) {
+    private TokenRevocationList revocationList;
+
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, TokenRevocationList revocationList) {
         this.tokenProvider = tokenProvider;
+        this.revocationList = revocationList;
     }
 
     @Override
@@ -33,11 +36,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
+            VerifiedToken token = StringUtils.hasText(jwt) ? tokenProvider.parseToken(jwt).orElse(null) : null;
 
+            // Tokens issued before the user id claim existed are not accepted
+            if (token != null && token.userId() != null && !revocationList.isRevoked(token.tokenId())) {
+                AuthenticatedUser principal = new AuthenticatedUser(
+                        token.userId(), token.subject(), token.tokenId(), token.expiresAtMillis());
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(email, null, new ArrayList<>());
+                        new UsernamePasswordAuthenticationToken(principal, null, new ArrayList<>());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -0,0 +1,224 @@
+package com.financetracker.security;
+
+import com.financetracker.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Failed-login counters keyed by account and by client address, with exponential
+ * backoff once a threshold is reached. Checks run before any database or BCrypt work.
+ */
+@Component
+public class LoginThrottle {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.security.login-throttle.table-size:65536}")
+    private int tableSize;
+
+    @Value("${app.security.login-throttle.account-threshold:5}")
+    private int accountThreshold;
+
+    @Value("${app.security.login-throttle.ip-threshold:20}")
+    private int ipThreshold;
+
+    @Value("${app.security.login-throttle.window-seconds:900}")
+    private long windowSeconds;
+
+    @Value("${app.security.login-throttle.max-backoff-seconds:900}")
+    private long maxBackoffSeconds;
+
+    private FailureTable accounts;
+    private FailureTable addresses;
+
+    @PostConstruct
+    public void init() {
+        accounts = new FailureTable(tableSize, accountThreshold, "account");
+        addresses = new FailureTable(tableSize, ipThreshold, "ip");
+    }
+
+    /**
+     * Throws {@link LoginThrottledException} if either the account or the client address is backing off
+     */
+    public void checkAllowed(String email, String clientIp) {
+        long now = nowSeconds();
+        long wait = Math.max(accounts.retryAfter(normalize(email), now), addresses.retryAfter(clientIp, now));
+        if (wait > 0) {
+            throw new LoginThrottledException(wait);
+        }
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        long now = nowSeconds();
+        accounts.recordFailure(normalize(email), now);
+        addresses.recordFailure(clientIp, now);
+    }
+
+    public void recordSuccess(String email) {
+        accounts.clear(normalize(email));
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    /**
+     * Fixed-size open-addressed table of packed longs updated with CAS, so memory stays
+     * constant no matter how many distinct keys are seen. Each slot holds a 24-bit key
+     * fingerprint, an 8-bit failure count and the 32-bit epoch second of the last failure.
+     * Expired slots are reused in place; when all probes are live the oldest one is evicted.
+     */
+    private final class FailureTable {
+
+        private static final int PROBES = 4;
+        private static final long MAX_FAILURES = 0xFF;
+
+        private final AtomicLongArray slots;
+        private final int mask;
+        private final int threshold;
+        private final Counter throttled;
+
+        FailureTable(int size, int threshold, String scope) {
+            int capacity = Integer.highestOneBit(Math.max(PROBES, size - 1)) << 1;
+            this.slots = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+            this.threshold = threshold;
+            this.throttled = Counter.builder("login.throttle.rejected").tag("scope", scope).register(meterRegistry);
+            Gauge.builder("login.throttle.tracked", this, FailureTable::liveEntries)
+                    .tag("scope", scope)
+                    .description("Keys with failed logins inside the tracking window")
+                    .register(meterRegistry);
+        }
+
+        long retryAfter(String key, long now) {
+            if (key == null) {
+                return 0;
+            }
+            int hash = mix(key);
+            int fingerprint = fingerprint(hash);
+            for (int i = 0; i < PROBES; i++) {
+                long slot = slots.get((hash + i) & mask);
+                if (fingerprintOf(slot) == fingerprint && !isExpired(slot, now)) {
+                    long wait = lastFailureOf(slot) + backoff(failuresOf(slot)) - now;
+                    if (wait > 0) {
+                        throttled.increment();
+                        return wait;
+                    }
+                    return 0;
+                }
+            }
+            return 0;
+        }
+
+        void recordFailure(String key, long now) {
+            if (key == null) {
+                return;
+            }
+            int hash = mix(key);
+            int fingerprint = fingerprint(hash);
+            while (true) {
+                int target = -1;
+                long current = 0;
+                long oldest = Long.MAX_VALUE;
+                for (int i = 0; i < PROBES; i++) {
+                    int index = (hash + i) & mask;
+                    long slot = slots.get(index);
+                    if (fingerprintOf(slot) == fingerprint && !isExpired(slot, now)) {
+                        target = index;
+                        current = slot;
+                        break;
+                    }
+                    long age = slot == 0 || isExpired(slot, now) ? Long.MIN_VALUE : lastFailureOf(slot);
+                    if (age < oldest) {
+                        oldest = age;
+                        target = index;
+                        current = slot;
+                    }
+                }
+
+                long failures = fingerprintOf(current) == fingerprint && !isExpired(current, now)
+                        ? Math.min(MAX_FAILURES, failuresOf(current) + 1)
+                        : 1;
+                if (slots.compareAndSet(target, current, pack(fingerprint, failures, now))) {
+                    return;
+                }
+            }
+        }
+
+        void clear(String key) {
+            int hash = mix(key);
+            int fingerprint = fingerprint(hash);
+            for (int i = 0; i < PROBES; i++) {
+                int index = (hash + i) & mask;
+                long slot = slots.get(index);
+                if (fingerprintOf(slot) == fingerprint) {
+                    slots.compareAndSet(index, slot, 0L);
+                }
+            }
+        }
+
+        private long backoff(long failures) {
+            if (failures < threshold) {
+                return 0;
+            }
+            long exponent = Math.min(30, failures - threshold);
+            return Math.min(maxBackoffSeconds, 1L << exponent);
+        }
+
+        private boolean isExpired(long slot, long now) {
+            return now - lastFailureOf(slot) > Math.max(windowSeconds, backoff(failuresOf(slot)));
+        }
+
+        private double liveEntries() {
+            long now = nowSeconds();
+            int live = 0;
+            for (int i = 0; i < slots.length(); i++) {
+                long slot = slots.get(i);
+                if (slot != 0 && !isExpired(slot, now)) {
+                    live++;
+                }
+            }
+            return live;
+        }
+    }
+
+    private static int mix(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Never zero, so an empty slot can not match
+    private static int fingerprint(int hash) {
+        int fingerprint = (hash >>> 8) & 0xFFFFFF;
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    private static long pack(int fingerprint, long failures, long epochSecond) {
+        return ((long) fingerprint << 40) | (failures << 32) | (epochSecond & 0xFFFFFFFFL);
+    }
+
+    private static int fingerprintOf(long slot) {
+        return (int) (slot >>> 40);
+    }
+
+    private static long failuresOf(long slot) {
+        return (slot >>> 32) & 0xFF;
+    }
+
+    private static long lastFailureOf(long slot) {
+        return slot & 0xFFFFFFFFL;
+    }
+}
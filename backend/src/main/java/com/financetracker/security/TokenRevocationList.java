@@ -0,0 +1,122 @@
+package com.financetracker.security;
+
+import com.financetracker.entity.RevokedToken;
+import com.financetracker.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access tokens keyed by jti. A Bloom filter answers the common "not revoked"
+ * case without I/O; the exact in-memory set is only consulted on a possible hit.
+ * The revoked_tokens table makes the set survive restarts.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    private int filterCapacity;
+
+    private Counter falsePositives;
+
+    @PostConstruct
+    public void load() {
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now())) {
+            revoked.put(token.getJti(), toMillis(token.getExpiresAt()));
+        }
+        rebuildFilter();
+
+        Gauge.builder("jwt.revoked.size", revoked, Map::size)
+                .description("Revoked tokens that have not yet expired")
+                .register(meterRegistry);
+        falsePositives = Counter.builder("jwt.revoked.bloom.false-positives")
+                .register(meterRegistry);
+
+        log.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        if (revoked.containsKey(jti)) {
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    public void revoke(String jti, long expiresAtMillis) {
+        if (jti == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(jti)
+                .expiresAt(toDateTime(expiresAtMillis))
+                .build());
+        addToFilter(jti, expiresAtMillis);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:600000}")
+    public void pruneExpired() {
+        long now = System.currentTimeMillis();
+        boolean removed = revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedTokenRepository.deleteExpired(toDateTime(now));
+        if (removed) {
+            rebuildFilter();
+        }
+    }
+
+    // Writers are serialized so a revocation cannot land in a filter that is being replaced
+    private synchronized void addToFilter(String jti, long expiresAtMillis) {
+        revoked.put(jti, expiresAtMillis);
+        if (revoked.size() > filterCapacity) {
+            rebuildFilter();
+        } else {
+            filter.put(jti);
+        }
+    }
+
+    private synchronized void rebuildFilter() {
+        filterCapacity = Math.max(expectedEntries, revoked.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(filterCapacity, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,13 @@
+package com.financetracker.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Result of a single signature-verified parse of a JWT
+ */
+public record VerifiedToken(String subject, Long userId, String tokenId, Claims claims, long expiresAtMillis) {
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,391 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.BatchJobStatusDto;
+import com.financetracker.entity.BatchJob;
+import com.financetracker.entity.BatchJobPartition;
+import com.financetracker.exception.ConflictException;
+import com.financetracker.repository.BatchJobPartitionRepository;
+import com.financetracker.repository.BatchJobRepository;
+import com.financetracker.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a {@link UserBatchTask} over every user. Users are split into id ranges that are
+ * processed in parallel on virtual threads, with at most a configured share of the
+ * connection pool in use at once. Each finished range is checkpointed in the database, so
+ * a job interrupted by a crash or shutdown resumes with the ranges it had not finished.
+ */
+@Service
+@Slf4j
+public class BatchJobService {
+
+    @Value("${app.batch.partition-size:500}")
+    private int partitionSize;
+
+    @Value("${app.batch.max-pool-share:0.25}")
+    private double maxPoolShare;
+
+    @Value("${app.batch.backoff-ms:200}")
+    private long backoffMs;
+
+    @Autowired
+    private List<UserBatchTask> taskBeans;
+
+    @Autowired
+    private BatchJobRepository jobRepository;
+
+    @Autowired
+    private BatchJobPartitionRepository partitionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Map<String, UserBatchTask> tasks;
+    private TransactionTemplate transaction;
+    private ExecutorService workers;
+    private Semaphore connections;
+    private HikariDataSource hikari;
+    private Counter throttled;
+
+    private volatile RunningJob running;
+    private volatile boolean stopping;
+
+    @PostConstruct
+    public void init() throws SQLException {
+        tasks = taskBeans.stream().collect(Collectors.toMap(UserBatchTask::name, Function.identity()));
+        transaction = new TransactionTemplate(transactionManager);
+        workers = Executors.newVirtualThreadPerTaskExecutor();
+
+        int poolSize = 1;
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            hikari = dataSource.unwrap(HikariDataSource.class);
+            poolSize = hikari.getMaximumPoolSize();
+        }
+        int workerLimit = Math.max(1, (int) (poolSize * maxPoolShare));
+        connections = new Semaphore(workerLimit);
+        log.debug("Batch jobs use at most {} of {} pooled connections", workerLimit, poolSize);
+
+        throttled = Counter.builder("batch.job.throttled")
+                .description("Pauses made because requests were waiting for a pooled connection")
+                .register(meterRegistry);
+        Gauge.builder("batch.job.users.processed", this, service -> progress(RunningJob::processed))
+                .register(meterRegistry);
+        Gauge.builder("batch.job.throughput", this, service -> progress(RunningJob::usersPerSecond))
+                .description("Users per second processed by the running batch job")
+                .register(meterRegistry);
+        Gauge.builder("batch.job.eta", this, service -> progress(RunningJob::etaSeconds))
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Lets running partitions stop between users; unfinished partitions are picked up on restart
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        workers.shutdownNow();
+    }
+
+    public synchronized BatchJobStatusDto start(String taskName) {
+        UserBatchTask task = tasks.get(taskName);
+        if (task == null) {
+            throw new IllegalArgumentException("Unknown batch task '" + taskName + "', expected one of " + tasks.keySet());
+        }
+        if (running != null) {
+            throw ConflictException.BATCH_JOB_RUNNING;
+        }
+
+        BatchJob job = transaction.execute(status -> createJob(taskName));
+        launch(job, task, partitionRepository.findByJobIdAndDoneFalseOrderByPartitionIndex(job.getId()));
+        return toStatus(job);
+    }
+
+    /**
+     * The running job, if any, and the most recent finished ones
+     */
+    public List<BatchJobStatusDto> getJobs() {
+        List<BatchJobStatusDto> jobs = new ArrayList<>();
+        for (BatchJob job : jobRepository.findTop10ByOrderByIdDesc()) {
+            jobs.add(toStatus(job));
+        }
+        return jobs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void resumeInterrupted() {
+        for (BatchJob job : jobRepository.findByStatus(BatchJob.Status.RUNNING)) {
+            UserBatchTask task = tasks.get(job.getTask());
+            if (task == null || running != null) {
+                log.warn("Batch job {} ({}) cannot be resumed, marking it failed", job.getId(), job.getTask());
+                finish(job.getId(), BatchJob.Status.FAILED);
+                continue;
+            }
+            List<BatchJobPartition> pending = partitionRepository.findByJobIdAndDoneFalseOrderByPartitionIndex(job.getId());
+            log.info("Resuming batch job {} ({}) with {} of {} partitions left",
+                    job.getId(), job.getTask(), pending.size(), job.getPartitions());
+            launch(job, task, pending);
+        }
+    }
+
+    private BatchJob createJob(String taskName) {
+        long minId = userRepository.findMinId().orElse(0L);
+        long maxId = userRepository.findMaxId().orElse(-1L);
+        int partitions = (int) Math.ceilDiv(maxId - minId + 1, (long) partitionSize);
+
+        BatchJob job = jobRepository.save(BatchJob.builder()
+                .task(taskName)
+                .status(BatchJob.Status.RUNNING)
+                .totalUsers(userRepository.count())
+                .partitions(partitions)
+                .startedAt(LocalDateTime.now())
+                .build());
+        List<BatchJobPartition> ranges = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            long from = minId + (long) i * partitionSize;
+            ranges.add(BatchJobPartition.builder()
+                    .jobId(job.getId())
+                    .partitionIndex(i)
+                    .fromUserId(from)
+                    .toUserId(Math.min(from + partitionSize, maxId + 1))
+                    .done(false)
+                    .usersProcessed(0L)
+                    .usersFailed(0L)
+                    .corrections(0L)
+                    .build());
+        }
+        partitionRepository.saveAll(ranges);
+        log.info("Started batch job {} ({}) over {} users in {} partitions", job.getId(), taskName,
+                job.getTotalUsers(), partitions);
+        return job;
+    }
+
+    private void launch(BatchJob job, UserBatchTask task, List<BatchJobPartition> pending) {
+        Finished finished = finished(job.getId());
+        RunningJob run = new RunningJob(job, finished);
+        running = run;
+        Thread.ofVirtual().name("batch-job-" + job.getId()).start(() -> run(run, task, pending));
+    }
+
+    private void run(RunningJob run, UserBatchTask task, List<BatchJobPartition> pending) {
+        boolean failed = false;
+        try {
+            List<Future<?>> partitions = new ArrayList<>(pending.size());
+            for (BatchJobPartition partition : pending) {
+                partitions.add(workers.submit(() -> {
+                    runPartition(run, task, partition);
+                    return null;
+                }));
+            }
+            for (Future<?> partition : partitions) {
+                try {
+                    partition.get();
+                } catch (ExecutionException e) {
+                    failed = true;
+                    if (!stopping) {
+                        log.error("Batch job {} partition failed", run.jobId, e.getCause());
+                    }
+                }
+            }
+        } catch (InterruptedException | RejectedExecutionException e) {
+            stopping = true;
+        } finally {
+            running = null;
+        }
+        if (stopping) {
+            log.info("Batch job {} interrupted after {} users, it resumes on next start", run.jobId, run.processed());
+            return;
+        }
+        finish(run.jobId, failed ? BatchJob.Status.FAILED : BatchJob.Status.COMPLETED);
+        log.info("Batch job {} ({}) finished: {} users, {} failed, {} corrections in {} s", run.jobId, task.name(),
+                run.processed(), run.finished.failed() + run.failed.sum(),
+                run.finished.corrections() + run.corrections.sum(), run.elapsedNanos() / 1_000_000_000);
+    }
+
+    /**
+     * Holds one connection permit for the whole range; the task uses at most one connection at
+     * a time. The checkpoint is written only once every user of the range was processed.
+     */
+    private void runPartition(RunningJob run, UserBatchTask task, BatchJobPartition partition) throws InterruptedException {
+        connections.acquire();
+        try {
+            long processed = 0;
+            long failed = 0;
+            long corrections = 0;
+            for (Long userId : userRepository.findIdsInRange(partition.getFromUserId(), partition.getToUserId())) {
+                if (stopping) {
+                    return;
+                }
+                throttle();
+                try {
+                    corrections += task.process(userId);
+                } catch (RuntimeException e) {
+                    if (stopping) {
+                        return;
+                    }
+                    failed++;
+                    run.failed.increment();
+                    log.warn("Batch job {} could not process user {}: {}", run.jobId, userId, e.getMessage());
+                }
+                processed++;
+                run.processedInRun.increment();
+            }
+            if (stopping) {
+                // Failures may come from the shutdown itself, so the range is left to the resumed run
+                return;
+            }
+            long done = processed;
+            long lost = failed;
+            long fixed = corrections;
+            transaction.executeWithoutResult(status ->
+                    partitionRepository.markDone(partition.getId(), done, lost, fixed, LocalDateTime.now()));
+            run.corrections.add(corrections);
+            run.partitionsDone.incrementAndGet();
+        } finally {
+            connections.release();
+        }
+    }
+
+    /**
+     * Backs off while requests are queued for a connection, so the job yields to user traffic
+     */
+    private void throttle() throws InterruptedException {
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        if (pool != null && pool.getThreadsAwaitingConnection() > 0) {
+            throttled.increment();
+            Thread.sleep(backoffMs);
+        }
+    }
+
+    private void finish(Long jobId, BatchJob.Status status) {
+        transaction.executeWithoutResult(tx -> jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setFinishedAt(LocalDateTime.now());
+        }));
+    }
+
+    private Finished finished(Long jobId) {
+        Object[] row = partitionRepository.sumFinished(jobId).get(0);
+        return new Finished(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                ((Number) row[2]).longValue(), ((Number) row[3]).intValue());
+    }
+
+    private double progress(ToDoubleFunction<RunningJob> metric) {
+        RunningJob run = running;
+        return run != null ? metric.applyAsDouble(run) : Double.NaN;
+    }
+
+    private BatchJobStatusDto toStatus(BatchJob job) {
+        BatchJobStatusDto.BatchJobStatusDtoBuilder status = BatchJobStatusDto.builder()
+                .id(job.getId())
+                .task(job.getTask())
+                .status(job.getStatus().toString())
+                .totalUsers(job.getTotalUsers())
+                .partitions(job.getPartitions())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt());
+        RunningJob run = running;
+        if (run != null && run.jobId.equals(job.getId())) {
+            double rate = run.usersPerSecond();
+            return status.usersProcessed(run.processed())
+                    .usersFailed(run.finished.failed() + run.failed.sum())
+                    .corrections(run.finished.corrections() + run.corrections.sum())
+                    .partitionsDone(run.finished.partitions() + run.partitionsDone.get())
+                    .usersPerSecond(Math.round(rate * 10) / 10.0)
+                    .etaSeconds(rate > 0 ? (long) run.etaSeconds() : null)
+                    .build();
+        }
+        Finished finished = finished(job.getId());
+        return status.usersProcessed(finished.processed())
+                .usersFailed(finished.failed())
+                .corrections(finished.corrections())
+                .partitionsDone(finished.partitions())
+                .build();
+    }
+
+    /**
+     * Totals of the partitions a job had already checkpointed when this run started
+     */
+    private record Finished(long processed, long failed, long corrections, int partitions) {
+    }
+
+    private static final class RunningJob {
+
+        private final Long jobId;
+        private final long totalUsers;
+        private final Finished finished;
+        private final long startNanos = System.nanoTime();
+        private final LongAdder processedInRun = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder corrections = new LongAdder();
+        private final AtomicInteger partitionsDone = new AtomicInteger();
+
+        RunningJob(BatchJob job, Finished finished) {
+            this.jobId = job.getId();
+            this.totalUsers = job.getTotalUsers();
+            this.finished = finished;
+        }
+
+        long elapsedNanos() {
+            return System.nanoTime() - startNanos;
+        }
+
+        long processed() {
+            return finished.processed() + processedInRun.sum();
+        }
+
+        double usersPerSecond() {
+            double seconds = elapsedNanos() / 1e9;
+            return seconds > 0 ? processedInRun.sum() / seconds : 0;
+        }
+
+        /**
+         * Users created since the job started are not counted, so the estimate can only run short
+         */
+        double etaSeconds() {
+            double rate = usersPerSecond();
+            return rate > 0 ? Math.max(0, totalUsers - processed()) / rate : Double.NaN;
+        }
+    }
+}
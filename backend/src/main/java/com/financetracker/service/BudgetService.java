@@ -0,0 +1,527 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.BudgetDto;
+import com.financetracker.dto.BudgetForecastDto;
+import com.financetracker.dto.BudgetStatusDto;
+import com.financetracker.entity.Budget;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.Transaction;
+import com.financetracker.exception.NotFoundException;
+import com.financetracker.repository.BudgetRepository;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Budget management and utilization. Spending per budget is kept as an in-memory running
+ * total for the budget's current period, adjusted from {@link TransactionChangedEvent}s after
+ * commit, so status reads never scan transactions. A user's totals are loaded from the
+ * database on first use and reloaded when any of their budgets rolls into a new period.
+ */
+@Service
+@Slf4j
+public class BudgetService {
+
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+    // Standard normal quantile bounding a two-sided 90% band
+    private static final double FORECAST_Z = 1.645;
+
+    @Value("${app.budgets.alert-thresholds:0.8,1.0}")
+    private List<BigDecimal> alertThresholds;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SpendForecaster spendForecaster;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private volatile Clock clock = Clock.systemDefaultZone();
+
+    private final Map<Long, UserBudgets> users = new ConcurrentHashMap<>();
+    private final Map<Long, Object> loadLocks = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicBoolean> loading = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("budget.tracked.users", users, Map::size)
+                .register(meterRegistry);
+    }
+
+    @Transactional
+    public BudgetDto createBudget(Long userId, BudgetDto dto) {
+        Budget budget = Budget.builder()
+                .user(userRepository.getReferenceById(userId))
+                .build();
+        applyChanges(userId, budget, dto);
+
+        Budget saved = budgetRepository.save(budget);
+        invalidateAfterCommit(userId);
+        return mapToDto(saved);
+    }
+
+    public List<BudgetDto> getUserBudgets(Long userId) {
+        return budgetRepository.findByUser(userRepository.getReferenceById(userId)).stream()
+                .map(this::mapToDto)
+                .toList();
+    }
+
+    @Transactional
+    public BudgetDto updateBudget(Long userId, Long id, BudgetDto dto) {
+        Budget budget = budgetRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> NotFoundException.BUDGET);
+        applyChanges(userId, budget, dto);
+
+        Budget updated = budgetRepository.save(budget);
+        invalidateAfterCommit(userId);
+        return mapToDto(updated);
+    }
+
+    @Transactional
+    public void deleteBudget(Long userId, Long id) {
+        Budget budget = budgetRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> NotFoundException.BUDGET);
+
+        budgetRepository.delete(budget);
+        invalidateAfterCommit(userId);
+    }
+
+    /**
+     * Removes the budgets of a category that is being deleted; a category budget must not
+     * widen into an all-expenses budget when its category goes away
+     */
+    @Transactional
+    public void deleteCategoryBudgets(Long userId, Long categoryId) {
+        if (budgetRepository.deleteByUserIdAndCategoryId(userId, categoryId) > 0) {
+            invalidateAfterCommit(userId);
+        }
+    }
+
+    /**
+     * Utilization of every budget of the user for the period containing today
+     */
+    public List<BudgetStatusDto> getStatuses(Long userId) {
+        return budgetsFor(userId).statuses();
+    }
+
+    public BudgetStatusDto getStatus(Long userId, Long id) {
+        return budgetsFor(userId).statuses().stream()
+                .filter(status -> status.getBudgetId().equals(id))
+                .findFirst()
+                .orElseThrow(() -> NotFoundException.BUDGET);
+    }
+
+    /**
+     * Projected spending of every budget of the user at the end of its current period
+     */
+    public List<BudgetForecastDto> getForecasts(Long userId) {
+        LocalDate today = LocalDate.now(clock);
+        return getStatuses(userId).stream()
+                .map(status -> forecast(userId, status, today))
+                .toList();
+    }
+
+    public BudgetForecastDto getForecast(Long userId, Long id) {
+        return forecast(userId, getStatus(userId, id), LocalDate.now(clock));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        AtomicBoolean dirty = loading.get(event.userId());
+        if (dirty != null) {
+            dirty.set(true);
+        }
+        List<BudgetThresholdEvent> crossings;
+        if (event.isBulk()) {
+            // Bulk changes carry no snapshots; reload now if the totals were in use so crossings are not lost
+            UserBudgets previous = users.remove(event.userId());
+            if (previous == null) {
+                return;
+            }
+            crossings = previous.crossingsTo(budgetsFor(event.userId()), event.userId(), alertThresholds);
+        } else {
+            UserBudgets budgets = users.get(event.userId());
+            if (budgets == null) {
+                return;
+            }
+            if (budgets.isCurrent(LocalDate.now(clock))) {
+                crossings = budgets.apply(event.before(), event.after(), event.userId(), alertThresholds);
+            } else {
+                // A period ended: the reload already includes this change, so replay it to measure crossings
+                users.remove(event.userId(), budgets);
+                crossings = budgetsFor(event.userId())
+                        .replay(event.before(), event.after(), event.userId(), alertThresholds);
+            }
+        }
+        crossings.forEach(eventPublisher::publishEvent);
+    }
+
+    /**
+     * Replaces the clock periods are resolved against, so tests can cross period boundaries
+     */
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Budget period containing date: [start, end)
+     */
+    static LocalDate periodStart(Budget.BudgetPeriod period, LocalDate date) {
+        return switch (period) {
+            case DAILY -> date;
+            case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> date.withDayOfMonth(1);
+            case YEARLY -> date.withDayOfYear(1);
+        };
+    }
+
+    static LocalDate periodEnd(Budget.BudgetPeriod period, LocalDate start) {
+        return switch (period) {
+            case DAILY -> start.plusDays(1);
+            case WEEKLY -> start.plusWeeks(1);
+            case MONTHLY -> start.plusMonths(1);
+            case YEARLY -> start.plusYears(1);
+        };
+    }
+
+    private void applyChanges(Long userId, Budget budget, BudgetDto dto) {
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            throw new IllegalArgumentException("Budget name is required");
+        }
+        if (dto.getBudgetLimit() == null || dto.getBudgetLimit().signum() <= 0) {
+            throw new IllegalArgumentException("Budget limit must be greater than zero");
+        }
+        Budget.BudgetPeriod period;
+        try {
+            period = Budget.BudgetPeriod.valueOf(String.valueOf(dto.getPeriod()).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Budget period must be DAILY, WEEKLY, MONTHLY or YEARLY");
+        }
+        Category category = null;
+        if (dto.getCategoryId() != null) {
+            category = categoryRepository.findByIdAndUserId(dto.getCategoryId(), userId)
+                    .orElseThrow(() -> NotFoundException.CATEGORY);
+        }
+
+        budget.setName(dto.getName());
+        budget.setBudgetLimit(dto.getBudgetLimit());
+        budget.setPeriod(period);
+        budget.setCategory(category);
+    }
+
+    private void invalidateAfterCommit(Long userId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh(userId);
+            }
+        });
+    }
+
+    /**
+     * Drops the user's running totals; totals in use are reloaded right away so alerts keep
+     * being detected
+     */
+    public void refresh(Long userId) {
+        AtomicBoolean dirty = loading.get(userId);
+        if (dirty != null) {
+            dirty.set(true);
+        }
+        if (users.remove(userId) != null) {
+            budgetsFor(userId);
+        }
+    }
+
+    /**
+     * Loads are serialized per user. Transaction events that commit while a load is reading
+     * mark it dirty and the load is retried, so cached totals never miss a write.
+     */
+    private UserBudgets budgetsFor(Long userId) {
+        LocalDate today = LocalDate.now(clock);
+        UserBudgets budgets = users.get(userId);
+        if (budgets != null && budgets.isCurrent(today)) {
+            return budgets;
+        }
+
+        Object lock = loadLocks.computeIfAbsent(userId, id -> new Object());
+        try {
+            synchronized (lock) {
+                budgets = users.get(userId);
+                if (budgets != null && budgets.isCurrent(today)) {
+                    return budgets;
+                }
+                for (int attempt = 1; ; attempt++) {
+                    AtomicBoolean dirty = new AtomicBoolean();
+                    loading.put(userId, dirty);
+                    try {
+                        budgets = load(userId, today);
+                        users.put(userId, budgets);
+                    } finally {
+                        loading.remove(userId);
+                    }
+                    if (!dirty.get()) {
+                        return budgets;
+                    }
+                    users.remove(userId, budgets);
+                    if (attempt == MAX_LOAD_ATTEMPTS) {
+                        log.debug("Budget totals for user {} kept changing during load, serving them uncached", userId);
+                        return budgets;
+                    }
+                }
+            }
+        } finally {
+            loadLocks.remove(userId, lock);
+        }
+    }
+
+    /**
+     * Rebuilds the user's running totals with one summary query per budget; monthly and
+     * yearly periods are answered from the monthly rollups
+     */
+    private UserBudgets load(Long userId, LocalDate today) {
+        List<BudgetTotal> totals = new ArrayList<>();
+        for (Budget budget : budgetRepository.findByUser(userRepository.getReferenceById(userId))) {
+            LocalDate start = periodStart(budget.getPeriod(), today);
+            LocalDate end = periodEnd(budget.getPeriod(), start);
+            Long categoryId = budget.getCategory() != null ? budget.getCategory().getId() : null;
+            BigDecimal spent = transactionService.getSummary(userId, start, end.minusDays(1),
+                    categoryId != null ? List.of(categoryId) : null).getExpense();
+            totals.add(new BudgetTotal(budget.getId(), budget.getName(), budget.getPeriod(), categoryId,
+                    budget.getBudgetLimit(), start, end, spent));
+        }
+        log.debug("Loaded {} budget totals for user {}", totals.size(), userId);
+        return new UserBudgets(totals);
+    }
+
+    /**
+     * Spent so far plus the expected spend of the remaining days; the band never falls below
+     * what is already spent
+     */
+    private BudgetForecastDto forecast(Long userId, BudgetStatusDto status, LocalDate today) {
+        SpendForecaster.Projection projection = spendForecaster.project(userId, status.getCategoryId(), today,
+                status.getPeriodEnd().plusDays(1));
+        BigDecimal spent = status.getSpent();
+        BigDecimal projected = spent.add(money(projection.remaining()));
+        BigDecimal margin = money(FORECAST_Z * projection.stdDev());
+        return BudgetForecastDto.builder()
+                .budgetId(status.getBudgetId())
+                .name(status.getName())
+                .period(status.getPeriod())
+                .categoryId(status.getCategoryId())
+                .budgetLimit(status.getBudgetLimit())
+                .spent(spent)
+                .projected(projected)
+                .projectedLow(projected.subtract(margin).max(spent))
+                .projectedHigh(projected.add(margin))
+                .projectedUtilization(projected.divide(status.getBudgetLimit(), 4, RoundingMode.HALF_UP))
+                .periodEnd(status.getPeriodEnd())
+                .build();
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private BudgetDto mapToDto(Budget budget) {
+        return BudgetDto.builder()
+                .id(budget.getId())
+                .name(budget.getName())
+                .budgetLimit(budget.getBudgetLimit())
+                .categoryId(budget.getCategory() != null ? budget.getCategory().getId() : null)
+                .period(budget.getPeriod().toString())
+                .build();
+    }
+
+    /**
+     * Running expense total of one budget for the period [start, end)
+     */
+    private static final class BudgetTotal {
+
+        private final Long budgetId;
+        private final String name;
+        private final Budget.BudgetPeriod period;
+        private final Long categoryId;
+        private final BigDecimal limit;
+        private final LocalDate start;
+        private final LocalDate end;
+        private BigDecimal spent;
+
+        BudgetTotal(Long budgetId, String name, Budget.BudgetPeriod period, Long categoryId, BigDecimal limit,
+                    LocalDate start, LocalDate end, BigDecimal spent) {
+            this.budgetId = budgetId;
+            this.name = name;
+            this.period = period;
+            this.categoryId = categoryId;
+            this.limit = limit;
+            this.start = start;
+            this.end = end;
+            this.spent = spent;
+        }
+
+        BigDecimal utilization() {
+            return spent.divide(limit, 4, RoundingMode.HALF_UP);
+        }
+
+        void apply(TransactionChangedEvent.Snapshot snapshot, boolean add) {
+            if (snapshot.type() != Transaction.TransactionType.EXPENSE
+                    || (categoryId != null && !categoryId.equals(snapshot.categoryId()))) {
+                return;
+            }
+            LocalDate date = snapshot.transactionDate().toLocalDate();
+            if (date.isBefore(start) || !date.isBefore(end)) {
+                return;
+            }
+            spent = add ? spent.add(snapshot.amount()) : spent.subtract(snapshot.amount());
+        }
+
+        BudgetStatusDto toStatus() {
+            return BudgetStatusDto.builder()
+                    .budgetId(budgetId)
+                    .name(name)
+                    .period(period.toString())
+                    .categoryId(categoryId)
+                    .budgetLimit(limit)
+                    .spent(spent)
+                    .remaining(limit.subtract(spent))
+                    .utilization(utilization())
+                    .periodStart(start)
+                    .periodEnd(end.minusDays(1))
+                    .build();
+        }
+    }
+
+    /**
+     * One user's budget totals; a change touches each of the user's budgets once
+     */
+    private static final class UserBudgets {
+
+        private final List<BudgetTotal> totals;
+
+        UserBudgets(List<BudgetTotal> totals) {
+            this.totals = totals;
+        }
+
+        synchronized boolean isCurrent(LocalDate today) {
+            for (BudgetTotal total : totals) {
+                if (today.isBefore(total.start) || !today.isBefore(total.end)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        synchronized List<BudgetThresholdEvent> apply(TransactionChangedEvent.Snapshot before,
+                                                      TransactionChangedEvent.Snapshot after,
+                                                      Long userId, List<BigDecimal> thresholds) {
+            List<BudgetThresholdEvent> crossings = new ArrayList<>();
+            for (BudgetTotal total : totals) {
+                BigDecimal previous = total.utilization();
+                if (before != null) {
+                    total.apply(before, false);
+                }
+                if (after != null) {
+                    total.apply(after, true);
+                }
+                addCrossing(crossings, userId, thresholds, previous, total);
+            }
+            return crossings;
+        }
+
+        /**
+         * Crossings of a change these totals already include: it is undone, then applied again
+         */
+        synchronized List<BudgetThresholdEvent> replay(TransactionChangedEvent.Snapshot before,
+                                                       TransactionChangedEvent.Snapshot after,
+                                                       Long userId, List<BigDecimal> thresholds) {
+            for (BudgetTotal total : totals) {
+                if (after != null) {
+                    total.apply(after, false);
+                }
+                if (before != null) {
+                    total.apply(before, true);
+                }
+            }
+            return apply(before, after, userId, thresholds);
+        }
+
+        /**
+         * Crossings between these totals and a reload of them, matched by budget and period
+         */
+        synchronized List<BudgetThresholdEvent> crossingsTo(UserBudgets reloaded, Long userId,
+                                                            List<BigDecimal> thresholds) {
+            List<BudgetThresholdEvent> crossings = new ArrayList<>();
+            synchronized (reloaded) {
+                for (BudgetTotal total : reloaded.totals) {
+                    for (BudgetTotal old : totals) {
+                        if (old.budgetId.equals(total.budgetId) && old.start.equals(total.start)) {
+                            addCrossing(crossings, userId, thresholds, old.utilization(), total);
+                        }
+                    }
+                }
+            }
+            return crossings;
+        }
+
+        private static void addCrossing(List<BudgetThresholdEvent> crossings, Long userId,
+                                        List<BigDecimal> thresholds, BigDecimal previous, BudgetTotal total) {
+            BigDecimal current = total.utilization();
+            BigDecimal crossed = null;
+            for (BigDecimal threshold : thresholds) {
+                if (previous.compareTo(threshold) < 0 && current.compareTo(threshold) >= 0
+                        && (crossed == null || threshold.compareTo(crossed) > 0)) {
+                    crossed = threshold;
+                }
+            }
+            if (crossed != null) {
+                crossings.add(new BudgetThresholdEvent(userId, crossed, total.toStatus()));
+            }
+        }
+
+        synchronized List<BudgetStatusDto> statuses() {
+            List<BudgetStatusDto> statuses = new ArrayList<>(totals.size());
+            for (BudgetTotal total : totals) {
+                statuses.add(total.toStatus());
+            }
+            return statuses;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.financetracker.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads CSV statements one record at a time. The first record must be a header naming at
+ * least a date and an amount column; quoted fields may contain commas, quotes and newlines.
+ */
+public class CsvStatementReader implements StatementReader {
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private long line = 1;
+    private boolean eof;
+
+    private final int dateColumn;
+    private final int titleColumn;
+    private final int descriptionColumn;
+    private final int amountColumn;
+    private final int typeColumn;
+    private final int categoryColumn;
+
+    public CsvStatementReader(Reader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+            header.set(0, header.get(0).substring(1));
+        }
+        dateColumn = column(header, "date", "transaction date", "posted date", "booking date");
+        titleColumn = column(header, "title", "payee", "name", "merchant");
+        descriptionColumn = column(header, "description", "memo", "notes");
+        amountColumn = column(header, "amount");
+        typeColumn = column(header, "type");
+        categoryColumn = column(header, "category");
+        if (dateColumn < 0 || amountColumn < 0) {
+            throw new IllegalArgumentException("CSV header must include date and amount columns");
+        }
+    }
+
+    @Override
+    public StatementRecord next() throws IOException {
+        List<String> fields;
+        long startLine;
+        do {
+            startLine = line;
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        return new StatementRecord(startLine,
+                field(fields, dateColumn),
+                field(fields, titleColumn),
+                field(fields, descriptionColumn),
+                field(fields, amountColumn),
+                field(fields, typeColumn),
+                field(fields, categoryColumn));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static int column(List<String> header, String... names) {
+        for (String name : names) {
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).trim().toLowerCase(Locale.ROOT).equals(name)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> fields, int column) {
+        if (column < 0 || column >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Reads one RFC 4180 record, or returns null at end of input
+     */
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                line++;
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        limit = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        if (limit <= 0) {
+            limit = 0;
+            eof = true;
+            return false;
+        }
+        return true;
+    }
+}
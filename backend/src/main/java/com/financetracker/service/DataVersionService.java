@@ -0,0 +1,82 @@
+package com.financetracker.service;
+
+import com.financetracker.exception.NotFoundException;
+import com.financetracker.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user monotonic data version, persisted on users.data_version and cached in memory.
+ * Writes bump it inside their database transaction; the cached value only moves forward
+ * once that transaction commits, so a version is never visible before the data it covers.
+ */
+@Service
+@Slf4j
+public class DataVersionService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    private final Object pendingKey = new Object();
+
+    /**
+     * Current version of the user's data; read from the database only on first use
+     */
+    public long current(Long userId) {
+        Long cached = versions.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long loaded = userRepository.findDataVersion(userId).orElseThrow(() -> NotFoundException.USER);
+        return versions.merge(userId, loaded, Math::max);
+    }
+
+    /**
+     * Increments the user's version once per database transaction, however many writes it holds,
+     * and returns the new version so written rows can be stamped with it. The row update also
+     * serializes a user's writes, so versions commit in the order they were taken.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long bump(Long userId) {
+        PendingVersions pending = (PendingVersions) TransactionSynchronizationManager.getResource(pendingKey);
+        if (pending == null) {
+            pending = new PendingVersions();
+            TransactionSynchronizationManager.bindResource(pendingKey, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        Long version = pending.versions.get(userId);
+        if (version != null) {
+            return version;
+        }
+        userRepository.incrementDataVersion(userId);
+        version = userRepository.findDataVersion(userId).orElseThrow(() -> NotFoundException.USER);
+        pending.versions.put(userId, version);
+        return version;
+    }
+
+    private final class PendingVersions implements TransactionSynchronization {
+
+        private final Map<Long, Long> versions = new HashMap<>();
+
+        @Override
+        public void afterCommit() {
+            versions.forEach((userId, version) -> DataVersionService.this.versions.merge(userId, version, Math::max));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(pendingKey);
+        }
+    }
+}
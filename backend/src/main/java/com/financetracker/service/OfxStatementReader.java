@@ -0,0 +1,154 @@
+package com.financetracker.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads STMTTRN entries from OFX statements one at a time. Both the SGML form of OFX 1.x,
+ * where leaf elements have no closing tags, and the XML form of OFX 2.x are accepted.
+ */
+public class OfxStatementReader implements StatementReader {
+
+    private static final int MAX_TOKEN_LENGTH = 4096;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private long line = 1;
+    private boolean eof;
+    private boolean sawTag;
+
+    public OfxStatementReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public StatementRecord next() throws IOException {
+        Map<String, String> fields = null;
+        long startLine = 0;
+
+        String tag;
+        while ((tag = nextTag()) != null) {
+            if (tag.equals("STMTTRN")) {
+                fields = new HashMap<>();
+                startLine = line;
+            } else if (tag.equals("/STMTTRN")) {
+                if (fields != null) {
+                    return toRecord(startLine, fields);
+                }
+            } else if (fields != null && !tag.startsWith("/")) {
+                String value = text();
+                if (!value.isEmpty()) {
+                    fields.put(tag, value);
+                }
+            }
+        }
+
+        if (!sawTag) {
+            throw new IllegalArgumentException("File is not an OFX statement");
+        }
+        return fields != null ? toRecord(startLine, fields) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static StatementRecord toRecord(long line, Map<String, String> fields) {
+        String posted = fields.get("DTPOSTED");
+        String date = posted != null && posted.length() >= 8 && posted.chars().limit(8).allMatch(Character::isDigit)
+                ? posted.substring(0, 4) + "-" + posted.substring(4, 6) + "-" + posted.substring(6, 8)
+                : posted;
+        String title = fields.containsKey("NAME") ? fields.get("NAME") : fields.get("PAYEE");
+        return new StatementRecord(line, date, title, fields.get("MEMO"), fields.get("TRNAMT"), null, null);
+    }
+
+    /**
+     * Advances past the next tag and returns its upper-cased name, or null at end of input
+     */
+    private String nextTag() throws IOException {
+        int c;
+        while ((c = read()) >= 0 && c != '<') {
+            // text outside a leaf element, including the OFX 1.x header block
+        }
+        if (c < 0) {
+            return null;
+        }
+
+        StringBuilder tag = new StringBuilder();
+        while ((c = read()) >= 0 && c != '>') {
+            if (tag.length() < MAX_TOKEN_LENGTH) {
+                tag.append((char) c);
+            }
+        }
+        sawTag = true;
+        int end = 0;
+        while (end < tag.length() && !Character.isWhitespace(tag.charAt(end))) {
+            end++;
+        }
+        return tag.substring(0, end).toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Reads the text content of a leaf element up to the next tag, which is left unread
+     */
+    private String text() throws IOException {
+        StringBuilder value = new StringBuilder();
+        int c;
+        while ((c = peek()) >= 0 && c != '<') {
+            read();
+            if (value.length() < MAX_TOKEN_LENGTH) {
+                value.append((char) c);
+            }
+        }
+        return decode(value.toString().trim());
+    }
+
+    private static String decode(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&apos;", "'")
+                .replace("&amp;", "&");
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        limit = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        if (limit <= 0) {
+            limit = 0;
+            eof = true;
+            return false;
+        }
+        return true;
+    }
+}
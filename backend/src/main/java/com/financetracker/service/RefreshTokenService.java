@@ -0,0 +1,227 @@
+package com.financetracker.service;
+
+import com.financetracker.entity.RefreshToken;
+import com.financetracker.exception.InvalidRefreshTokenException;
+import com.financetracker.repository.RefreshTokenRepository;
+import com.financetracker.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ * Lookups are served from an in-memory hot tier of the most recently used tokens; the
+ * refresh_tokens table is the durable tier and the authority for rotation, so a restart
+ * or an eviction only costs one SELECT per token on its next use.
+ */
+@Service
+@Slf4j
+@SuppressWarnings("null")
+public class RefreshTokenService {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.refresh.expiration:1209600000}")
+    private long refreshExpirationMs;
+
+    @Value("${jwt.refresh.max-session:7776000000}")
+    private long maxSessionMs;
+
+    @Value("${jwt.refresh.hot-tier-size:10000}")
+    private int hotTierSize;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final Map<String, HotEntry> hotTier = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, HotEntry> eldest) {
+            return size() > hotTierSize;
+        }
+    };
+
+    public record Rotation(Long userId, String refreshToken) {
+    }
+
+    private record HotEntry(Long tokenId, Long userId, String familyId, long expiresAt, long sessionExpiresAt,
+                            boolean rotated) {
+
+        HotEntry markRotated() {
+            return new HotEntry(tokenId, userId, familyId, expiresAt, sessionExpiresAt, true);
+        }
+    }
+
+    /**
+     * Starts a new refresh token family for a freshly authenticated user
+     */
+    public String issue(Long userId) {
+        long now = System.currentTimeMillis();
+        return store(userId, UUID.randomUUID().toString(), now, now + maxSessionMs);
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family. Presenting a token
+     * that was already rotated is treated as theft and revokes the whole family.
+     * Marking the old token and inserting its successor commit together, so a failed insert
+     * leaves the presented token usable; the hot tier only learns of the rotation after commit.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        String hash = hash(rawToken);
+        HotEntry entry = cached(hash);
+        if (entry == null) {
+            entry = load(hash);
+        }
+
+        long now = System.currentTimeMillis();
+        if (now >= entry.expiresAt() || now >= entry.sessionExpiresAt()) {
+            synchronized (hotTier) {
+                hotTier.remove(hash);
+            }
+            throw new InvalidRefreshTokenException();
+        }
+
+        if (entry.rotated() || refreshTokenRepository.markRotated(entry.tokenId(), toDateTime(now)) == 0) {
+            log.warn("Refresh token reuse detected for user {}, revoking token family", entry.userId());
+            revokeFamily(entry.familyId());
+            throw new InvalidRefreshTokenException();
+        }
+        cacheAfterCommit(hash, entry.markRotated());
+
+        String next = store(entry.userId(), entry.familyId(), now, entry.sessionExpiresAt());
+        return new Rotation(entry.userId(), next);
+    }
+
+    /**
+     * Revokes the family the given token belongs to, ending that session on every device sharing it
+     */
+    public void revoke(String rawToken) {
+        String hash = hash(rawToken);
+        HotEntry entry = cached(hash);
+        if (entry != null) {
+            revokeFamily(entry.familyId());
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash)
+                .ifPresent(token -> revokeFamily(token.getFamilyId()));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.prune-interval-ms:3600000}")
+    public void pruneExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (hotTier) {
+            hotTier.values().removeIf(entry -> now >= entry.expiresAt() || now >= entry.sessionExpiresAt());
+        }
+        int deleted = refreshTokenRepository.deleteExpired(toDateTime(now));
+        if (deleted > 0) {
+            log.debug("Pruned {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String store(Long userId, String familyId, long now, long sessionExpiresAt) {
+        String rawToken = newRawToken();
+        long expiresAt = Math.min(now + refreshExpirationMs, sessionExpiresAt);
+
+        RefreshToken token = RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .user(userRepository.getReferenceById(userId))
+                .expiresAt(toDateTime(expiresAt))
+                .sessionExpiresAt(toDateTime(sessionExpiresAt))
+                .revoked(false)
+                .build();
+        RefreshToken saved = refreshTokenRepository.save(token);
+
+        cacheAfterCommit(saved.getTokenHash(),
+                new HotEntry(saved.getId(), userId, familyId, expiresAt, sessionExpiresAt, false));
+        return rawToken;
+    }
+
+    private HotEntry load(String hash) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash)
+                .filter(t -> !t.getRevoked())
+                .orElseThrow(InvalidRefreshTokenException::new);
+
+        HotEntry entry = new HotEntry(token.getId(), token.getUser().getId(), token.getFamilyId(),
+                toMillis(token.getExpiresAt()), toMillis(token.getSessionExpiresAt()),
+                token.getRotatedAt() != null);
+        cache(hash, entry);
+        return entry;
+    }
+
+    private void revokeFamily(String familyId) {
+        refreshTokenRepository.revokeFamily(familyId);
+        synchronized (hotTier) {
+            hotTier.values().removeIf(entry -> entry.familyId().equals(familyId));
+        }
+    }
+
+    private HotEntry cached(String hash) {
+        synchronized (hotTier) {
+            return hotTier.get(hash);
+        }
+    }
+
+    private void cache(String hash, HotEntry entry) {
+        synchronized (hotTier) {
+            hotTier.put(hash, entry);
+        }
+    }
+
+    private void cacheAfterCommit(String hash, HotEntry entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache(hash, entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache(hash, entry);
+            }
+        });
+    }
+
+    private String newRawToken() {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
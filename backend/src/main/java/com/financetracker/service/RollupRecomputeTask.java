@@ -0,0 +1,29 @@
+package com.financetracker.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes a user's monthly rollups from their transactions, then the budget totals read from them
+ */
+@Component
+public class RollupRecomputeTask implements UserBatchTask {
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Override
+    public String name() {
+        return "rollups";
+    }
+
+    @Override
+    public long process(Long userId) {
+        RollupService.RebuildReport report = rollupService.rebuildUser(userId);
+        budgetService.refresh(userId);
+        return report.corrections();
+    }
+}
@@ -0,0 +1,552 @@
+package com.financetracker.service;
+
+import com.financetracker.entity.Transaction;
+import com.financetracker.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Streaming spend statistics per user and category: an exponentially weighted mean and
+ * variance of daily expense plus a day-of-week profile. Each transaction write updates them in
+ * constant time after commit, and projections read only these few numbers, never the history.
+ * State is seeded once per user from a bounded window of recent expenses and written to a
+ * snapshot file so a restart resumes without seeding again.
+ */
+@Component
+@Slf4j
+public class SpendForecaster {
+
+    private static final int SNAPSHOT_MAGIC = 0x46435354;
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final int MAX_SEED_ATTEMPTS = 3;
+    // Days needed before the day-of-week profile is trusted over a flat daily mean
+    private static final int MIN_SEASONAL_DAYS = 14;
+
+    @Value("${app.forecast.alpha:0.1}")
+    private double alpha;
+
+    @Value("${app.forecast.seasonal-alpha:0.15}")
+    private double seasonalAlpha;
+
+    @Value("${app.forecast.seed-days:90}")
+    private int seedDays;
+
+    @Value("${app.forecast.snapshot-file:${java.io.tmpdir}/finance-tracker-forecast.bin}")
+    private String snapshotFile;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate readOnlyTransaction;
+    private Counter seeds;
+
+    private final Map<Long, UserForecast> users = new ConcurrentHashMap<>();
+    private final Map<Long, Object> seedLocks = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicBoolean> seeding = new ConcurrentHashMap<>();
+
+    /**
+     * Expected spend from now to the end of a period and its standard deviation
+     */
+    public record Projection(double remaining, double stdDev) {
+
+        static final Projection NONE = new Projection(0, 0);
+    }
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        seeds = Counter.builder("forecast.seeds")
+                .description("Per-user spend statistics seeded from the database")
+                .register(meterRegistry);
+        Gauge.builder("forecast.tracked.users", users, Map::size)
+                .register(meterRegistry);
+        restore();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    /**
+     * Projects expense from today to end (exclusive) for one category, or for all expenses
+     * when categoryId is null
+     */
+    public Projection project(Long userId, Long categoryId, LocalDate today, LocalDate end) {
+        return forecastFor(userId).project(categoryId, (int) today.toEpochDay(), (int) end.toEpochDay());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        AtomicBoolean dirty = seeding.get(event.userId());
+        if (dirty != null) {
+            dirty.set(true);
+        }
+        if (event.isBulk()) {
+            // Bulk changes carry no snapshots; the user is seeded again on next use
+            users.remove(event.userId());
+            return;
+        }
+        UserForecast forecast = users.get(event.userId());
+        if (forecast == null) {
+            return;
+        }
+        if (!forecast.isVerified()) {
+            // Restored statistics are only valid at the version they were written at
+            users.remove(event.userId(), forecast);
+            return;
+        }
+        if (!forecast.applyInOrder(event, (int) LocalDate.now().toEpochDay())) {
+            // Listeners of different commits can run out of order; a skipped or repeated
+            // version means the statistics no longer match the data
+            users.remove(event.userId(), forecast);
+            log.debug("Spend statistics for user {} at version {} got an event for version {}, seeding again",
+                    event.userId(), forecast.version(), event.version());
+        }
+    }
+
+    /**
+     * Writes every user's statistics to the snapshot file and forgets users idle for longer
+     * than the seed window, who would be seeded from the database anyway
+     */
+    @Scheduled(fixedDelayString = "${app.forecast.snapshot-interval-ms:600000}",
+            initialDelayString = "${app.forecast.snapshot-interval-ms:600000}")
+    public void snapshot() {
+        int idleBefore = (int) LocalDate.now().minusDays(seedDays).toEpochDay();
+        users.entrySet().removeIf(entry -> entry.getValue().lastUsed() < idleBefore);
+
+        Path target = Path.of(snapshotFile);
+        try {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), "forecast", ".tmp");
+            try {
+                int written = 0;
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(SNAPSHOT_MAGIC);
+                    out.writeInt(SNAPSHOT_FORMAT);
+                    out.writeDouble(alpha);
+                    out.writeDouble(seasonalAlpha);
+                    for (Map.Entry<Long, UserForecast> entry : users.entrySet()) {
+                        out.writeBoolean(true);
+                        out.writeLong(entry.getKey());
+                        entry.getValue().write(out);
+                        written++;
+                    }
+                    out.writeBoolean(false);
+                }
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                log.debug("Wrote spend statistics of {} users to {}", written, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Could not write forecast snapshot {}: {}", target, e.getMessage());
+        }
+    }
+
+    /**
+     * Restored users are checked against their data version on first use, so a snapshot that
+     * missed writes is never served
+     */
+    private void restore() {
+        Path source = Path.of(snapshotFile);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_FORMAT
+                    || in.readDouble() != alpha || in.readDouble() != seasonalAlpha) {
+                log.info("Ignoring forecast snapshot {} written with a different format or settings", source);
+                return;
+            }
+            while (in.readBoolean()) {
+                long userId = in.readLong();
+                users.put(userId, UserForecast.read(this, in));
+            }
+            log.info("Restored spend statistics of {} users from {}", users.size(), source);
+        } catch (NoSuchFileException e) {
+            log.debug("No forecast snapshot at {}", source);
+        } catch (IOException e) {
+            users.clear();
+            log.warn("Could not read forecast snapshot {}: {}", source, e.getMessage());
+        }
+    }
+
+    /**
+     * Seeds are serialized per user. Events that commit while a seed is reading mark it
+     * dirty, and the seed is retried so the statistics never miss a change.
+     */
+    private UserForecast forecastFor(Long userId) {
+        UserForecast forecast = users.get(userId);
+        if (forecast != null && forecast.isVerified()) {
+            return forecast;
+        }
+
+        Object lock = seedLocks.computeIfAbsent(userId, id -> new Object());
+        try {
+            synchronized (lock) {
+                forecast = users.get(userId);
+                if (forecast != null && forecast.verify(dataVersionService.current(userId))) {
+                    return forecast;
+                }
+                users.remove(userId, forecast);
+                for (int attempt = 1; ; attempt++) {
+                    AtomicBoolean dirty = new AtomicBoolean();
+                    seeding.put(userId, dirty);
+                    try {
+                        forecast = seed(userId);
+                        users.put(userId, forecast);
+                    } finally {
+                        seeding.remove(userId);
+                    }
+                    if (!dirty.get()) {
+                        return forecast;
+                    }
+                    users.remove(userId, forecast);
+                    if (attempt == MAX_SEED_ATTEMPTS) {
+                        log.debug("Spend statistics for user {} kept changing during seed, serving them uncached", userId);
+                        return forecast;
+                    }
+                }
+            }
+        } finally {
+            seedLocks.remove(userId, lock);
+        }
+    }
+
+    private UserForecast seed(Long userId) {
+        long version = dataVersionService.current(userId);
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(seedDays);
+        int todayDay = (int) today.toEpochDay();
+        UserForecast forecast = new UserForecast(this, version, todayDay);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TransactionRepository.DatedAmount> rows = transactionRepository.streamAmountsByUserIdAndType(
+                    userId, Transaction.TransactionType.EXPENSE, from.atStartOfDay(), today.plusDays(1).atStartOfDay())) {
+                rows.forEach(row -> forecast.add(row.getCategoryId(),
+                        (int) row.getTransactionDate().toLocalDate().toEpochDay(), row.getAmount().doubleValue(), todayDay));
+            }
+        });
+        seeds.increment();
+        log.debug("Seeded spend statistics for user {} from {}", userId, from);
+        return forecast;
+    }
+
+    /**
+     * Monday is 0; epoch day 0 was a Thursday
+     */
+    static int weekday(int epochDay) {
+        return Math.floorMod(epochDay + 3, 7);
+    }
+
+    /**
+     * Days in [from, to) falling on the weekday
+     */
+    static int countWeekday(int from, int to, int weekday) {
+        if (to <= from) {
+            return 0;
+        }
+        int days = to - from;
+        return days / 7 + (Math.floorMod(weekday - weekday(from), 7) < days % 7 ? 1 : 0);
+    }
+
+    /**
+     * One user's statistics: one stream per category plus one over all expenses
+     */
+    private static final class UserForecast {
+
+        private final SpendForecaster owner;
+        private final Map<Long, SpendStream> categories = new HashMap<>();
+        private SpendStream total;
+        private long version;
+        // True once an event has been applied at version; seeded or restored state is not,
+        // so a late event of the commit it was seeded at is not counted twice
+        private boolean appliedAtVersion;
+        private int lastUsed;
+        private boolean verified;
+
+        UserForecast(SpendForecaster owner, long version, int today) {
+            this.owner = owner;
+            this.version = version;
+            this.lastUsed = today;
+            this.verified = true;
+        }
+
+        synchronized boolean isVerified() {
+            return verified;
+        }
+
+        /**
+         * Accepts restored statistics only if the user's data has not changed since
+         */
+        synchronized boolean verify(long currentVersion) {
+            verified = verified || currentVersion == version;
+            return verified;
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        /**
+         * Applies the event only if it is the next version, or another event of the commit
+         * already being applied; returns false without changing anything otherwise
+         */
+        synchronized boolean applyInOrder(TransactionChangedEvent event, int today) {
+            boolean next = event.version() == version + 1;
+            boolean sameCommit = event.version() == version && appliedAtVersion;
+            if (!next && !sameCommit) {
+                return false;
+            }
+            apply(event.before(), -1, today);
+            apply(event.after(), 1, today);
+            version = event.version();
+            appliedAtVersion = true;
+            return true;
+        }
+
+        synchronized int lastUsed() {
+            return lastUsed;
+        }
+
+        private void apply(TransactionChangedEvent.Snapshot snapshot, int sign, int today) {
+            if (snapshot == null || snapshot.type() != Transaction.TransactionType.EXPENSE) {
+                return;
+            }
+            add(snapshot.categoryId(), (int) snapshot.transactionDate().toLocalDate().toEpochDay(),
+                    sign * snapshot.amount().doubleValue(), today);
+        }
+
+        /**
+         * Future-dated expenses are planned rather than observed spending and are left out
+         */
+        synchronized void add(Long categoryId, int day, double amount, int today) {
+            if (day > today) {
+                return;
+            }
+            lastUsed = today;
+            SpendStream stream = categories.get(categoryId);
+            if (stream == null) {
+                stream = owner.new SpendStream(day);
+                categories.put(categoryId, stream);
+            }
+            stream.add(day, amount);
+            if (total == null) {
+                total = owner.new SpendStream(day);
+            }
+            total.add(day, amount);
+        }
+
+        synchronized Projection project(Long categoryId, int today, int end) {
+            lastUsed = today;
+            SpendStream stream = categoryId != null ? categories.get(categoryId) : total;
+            if (stream == null) {
+                return Projection.NONE;
+            }
+            stream.advanceTo(today);
+            return stream.project(end);
+        }
+
+        synchronized void write(DataOutputStream out) throws IOException {
+            out.writeLong(version);
+            out.writeInt(lastUsed);
+            out.writeBoolean(total != null);
+            if (total != null) {
+                total.write(out);
+            }
+            out.writeInt(categories.size());
+            for (Map.Entry<Long, SpendStream> entry : categories.entrySet()) {
+                out.writeLong(entry.getKey());
+                entry.getValue().write(out);
+            }
+        }
+
+        static UserForecast read(SpendForecaster owner, DataInputStream in) throws IOException {
+            UserForecast forecast = new UserForecast(owner, in.readLong(), in.readInt());
+            forecast.verified = false;
+            if (in.readBoolean()) {
+                forecast.total = owner.readStream(in);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                forecast.categories.put(in.readLong(), owner.readStream(in));
+            }
+            return forecast;
+        }
+    }
+
+    private SpendStream readStream(DataInputStream in) throws IOException {
+        SpendStream stream = new SpendStream(in.readInt());
+        stream.open = in.readInt();
+        stream.openTotal = in.readDouble();
+        stream.sum = in.readDouble();
+        stream.sumOfSquares = in.readDouble();
+        for (int i = 0; i < 7; i++) {
+            stream.weekdays[i] = in.readDouble();
+        }
+        return stream;
+    }
+
+    /**
+     * Daily expense of one series. Days before open are closed and folded into exponentially
+     * weighted sums of x and x squared, and into one sum per weekday; the open day accumulates
+     * until a later day is seen. The sums are kept unnormalized and divided by their total
+     * weight when read, which removes the bias towards zero of a young series.
+     */
+    private final class SpendStream {
+
+        private final int start;
+        private int open;
+        private double openTotal;
+        private double sum;
+        private double sumOfSquares;
+        private final double[] weekdays = new double[7];
+
+        SpendStream(int start) {
+            this.start = start;
+            this.open = start;
+        }
+
+        void add(int day, double amount) {
+            if (day >= open) {
+                advanceTo(day);
+                openTotal += amount;
+                return;
+            }
+            // A closed day changed: its weight has decayed since it was folded, so the sums
+            // take the change at that weight. The day's earlier total is unknown, so x squared
+            // is corrected as if it had been the mean.
+            int at = Math.max(day, start);
+            double weight = alpha * Math.pow(1 - alpha, open - 1 - at);
+            double previous = Math.max(0, mean());
+            sum += weight * amount;
+            sumOfSquares += weight * ((previous + amount) * (previous + amount) - previous * previous);
+            int weekday = weekday(at);
+            weekdays[weekday] += seasonalAlpha
+                    * Math.pow(1 - seasonalAlpha, countWeekday(at + 1, open, weekday)) * amount;
+        }
+
+        /**
+         * Closes the open day and every empty day before the given one, in constant time
+         */
+        void advanceTo(int day) {
+            if (day <= open) {
+                return;
+            }
+            sum = sum * (1 - alpha) + alpha * openTotal;
+            sumOfSquares = sumOfSquares * (1 - alpha) + alpha * openTotal * openTotal;
+            int weekday = weekday(open);
+            weekdays[weekday] = weekdays[weekday] * (1 - seasonalAlpha) + seasonalAlpha * openTotal;
+
+            int emptyDays = day - open - 1;
+            if (emptyDays > 0) {
+                double decay = Math.pow(1 - alpha, emptyDays);
+                sum *= decay;
+                sumOfSquares *= decay;
+                for (int w = 0; w < 7; w++) {
+                    weekdays[w] *= Math.pow(1 - seasonalAlpha, countWeekday(open + 1, day, w));
+                }
+            }
+            open = day;
+            openTotal = 0;
+        }
+
+        private double weight() {
+            return 1 - Math.pow(1 - alpha, open - start);
+        }
+
+        double mean() {
+            double weight = weight();
+            return weight > 0 ? sum / weight : 0;
+        }
+
+        double variance() {
+            double weight = weight();
+            if (weight <= 0) {
+                return 0;
+            }
+            double mean = sum / weight;
+            return Math.max(0, sumOfSquares / weight - mean * mean);
+        }
+
+        /**
+         * Ratio of a weekday's mean to the mean over all weekdays; 1 until two weeks are closed
+         */
+        private double[] seasonality() {
+            double[] factors = new double[7];
+            double[] means = new double[7];
+            double total = 0;
+            for (int w = 0; w < 7; w++) {
+                double weight = 1 - Math.pow(1 - seasonalAlpha, countWeekday(start, open, w));
+                means[w] = weight > 0 ? weekdays[w] / weight : 0;
+                total += means[w];
+            }
+            double average = total / 7;
+            for (int w = 0; w < 7; w++) {
+                factors[w] = open - start >= MIN_SEASONAL_DAYS && average > 0 ? Math.max(0, means[w]) / average : 1;
+            }
+            return factors;
+        }
+
+        /**
+         * The rest of the open day plus each later day before end, each day treated as an
+         * independent draw with the stream's variance
+         */
+        Projection project(int end) {
+            double mean = mean();
+            double[] factors = seasonality();
+            double remaining = Math.max(0, mean * factors[weekday(open)] - openTotal);
+            for (int w = 0; w < 7; w++) {
+                remaining += countWeekday(open + 1, end, w) * mean * factors[w];
+            }
+            int days = Math.max(0, end - open);
+            return new Projection(remaining, Math.sqrt(variance() * days));
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(start);
+            out.writeInt(open);
+            out.writeDouble(openTotal);
+            out.writeDouble(sum);
+            out.writeDouble(sumOfSquares);
+            for (double value : weekdays) {
+                out.writeDouble(value);
+            }
+        }
+    }
+}
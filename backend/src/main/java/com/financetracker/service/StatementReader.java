@@ -0,0 +1,15 @@
+package com.financetracker.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Incremental reader over a bank statement file
+ */
+public interface StatementReader extends Closeable {
+
+    /**
+     * Returns the next record, or null once the statement is exhausted
+     */
+    StatementRecord next() throws IOException;
+}
@@ -0,0 +1,9 @@
+package com.financetracker.service;
+
+/**
+ * One raw transaction read from a bank statement, before validation.
+ * Any field may be null when the statement does not provide it.
+ */
+public record StatementRecord(long line, String date, String title, String description,
+                              String amount, String type, String category) {
+}
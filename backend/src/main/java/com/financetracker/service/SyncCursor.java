@@ -0,0 +1,44 @@
+package com.financetracker.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the (changeVersion, id) write order, encoded as an opaque string. An id of
+ * Long.MAX_VALUE means every change up to and including version has been delivered.
+ */
+public record SyncCursor(long version, long id) {
+
+    public static final SyncCursor START = new SyncCursor(-1, Long.MAX_VALUE);
+
+    public static SyncCursor completed(long version) {
+        return new SyncCursor(version, Long.MAX_VALUE);
+    }
+
+    /**
+     * Highest version whose changes the client holds in full
+     */
+    public long acknowledged() {
+        return Math.max(0, id == Long.MAX_VALUE ? version : version - 1);
+    }
+
+    public String encode() {
+        String raw = version + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new SyncCursor(
+                    Long.parseLong(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.ImportResultDto;
+import com.financetracker.dto.ImportRowErrorDto;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.Transaction;
+import com.financetracker.repository.CategoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk import of bank statements. Rows are parsed one at a time and written through JDBC
+ * batches, so memory use depends on the batch size rather than on the size of the file.
+ */
+@Service
+@Slf4j
+public class TransactionImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO transactions " +
+            "(id, title, description, amount, type, category_id, user_id, transaction_date, change_version, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] INSERT_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.DECIMAL, Types.VARCHAR,
+            Types.BIGINT, Types.BIGINT, Types.TIMESTAMP, Types.BIGINT, Types.TIMESTAMP, Types.TIMESTAMP};
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    // transactions.amount is DECIMAL(15,2)
+    private static final int MAX_INTEGER_DIGITS = 13;
+
+    @Value("${app.import.batch-size:1000}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public enum Format {
+        CSV, OFX
+    }
+
+    /**
+     * Imports every valid row of the statement in one database transaction. Invalid rows are
+     * skipped and reported; rows without a category column fall back to defaultCategory.
+     */
+    @Transactional
+    public ImportResultDto importStatement(Long userId, MultipartFile file, Format format, String defaultCategory)
+            throws IOException {
+        Format resolved = format != null ? format : detectFormat(file.getOriginalFilename());
+
+        Map<String, Category> categories = new HashMap<>();
+        for (Category category : categoryRepository.findByUserId(userId)) {
+            categories.putIfAbsent(category.getName().toLowerCase(Locale.ROOT), category);
+        }
+
+        // Ids come from the entity's own pooled-lo generator, so imported rows share the id
+        // blocks handed to JPA inserts instead of racing them on the sequence
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator idGenerator = (BeforeExecutionGenerator) session.getFactory()
+                .getMappingMetamodel().getEntityDescriptor(Transaction.class).getGenerator();
+
+        long version = dataVersionService.bump(userId);
+        RollupDeltas rollups = new RollupDeltas();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        List<ImportRowErrorDto> errors = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long imported = 0;
+        long failed = 0;
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8));
+        try (StatementReader reader = resolved == Format.OFX ? new OfxStatementReader(in) : new CsvStatementReader(in)) {
+            StatementRecord record;
+            while ((record = reader.next()) != null) {
+                Object[] row;
+                try {
+                    row = toRow(userId, record, categories, defaultCategory, version, now, rollups);
+                } catch (IllegalArgumentException e) {
+                    failed++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new ImportRowErrorDto(record.line(), e.getMessage()));
+                    }
+                    continue;
+                }
+                row[0] = idGenerator.generate(session, null, null, EventType.INSERT);
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    imported += flush(batch);
+                }
+            }
+        }
+        imported += flush(batch);
+
+        rollupService.apply(userId, rollups);
+        if (imported > 0) {
+            eventPublisher.publishEvent(TransactionChangedEvent.bulkImported(userId, version));
+        }
+
+        log.info("Imported {} transactions for user {} from {} ({} rows rejected)", imported, userId, resolved, failed);
+        return ImportResultDto.builder()
+                .imported(imported)
+                .failed(failed)
+                .errors(errors)
+                .errorsTruncated(failed > errors.size())
+                .build();
+    }
+
+    private static Format detectFormat(String filename) {
+        String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+        return name.endsWith(".ofx") || name.endsWith(".qfx") ? Format.OFX : Format.CSV;
+    }
+
+    /**
+     * Validates one statement record and turns it into insert parameters, recording its
+     * rollup delta. The id slot is left for the caller; throws IllegalArgumentException with a user-facing message when invalid
+     */
+    private Object[] toRow(Long userId, StatementRecord record, Map<String, Category> categories,
+                           String defaultCategory, long version, Timestamp now, RollupDeltas rollups) {
+        if (record.date() == null) {
+            throw new IllegalArgumentException("Missing date");
+        }
+        LocalDate date;
+        try {
+            date = LocalDate.parse(record.date());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date '" + record.date() + "', expected yyyy-MM-dd");
+        }
+
+        if (record.amount() == null) {
+            throw new IllegalArgumentException("Missing amount");
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(record.amount());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount '" + record.amount() + "'");
+        }
+        if (amount.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException("Amount has more than two decimal places");
+        }
+
+        // Without a type column the sign decides: statements list debits as negative amounts
+        Transaction.TransactionType type = record.type() != null
+                ? parseType(record.type())
+                : amount.signum() < 0 ? Transaction.TransactionType.EXPENSE : Transaction.TransactionType.INCOME;
+        amount = amount.abs();
+        if (amount.precision() - amount.scale() > MAX_INTEGER_DIGITS) {
+            throw new IllegalArgumentException("Amount '" + record.amount() + "' is too large");
+        }
+
+        String title = record.title() != null ? record.title() : record.description();
+        if (title == null) {
+            throw new IllegalArgumentException("Missing title");
+        }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            title = title.substring(0, MAX_TITLE_LENGTH);
+        }
+
+        String categoryName = record.category() != null ? record.category() : defaultCategory;
+        if (categoryName == null || categoryName.isBlank()) {
+            throw new IllegalArgumentException("Missing category");
+        }
+        Category category = categories.get(categoryName.trim().toLowerCase(Locale.ROOT));
+        if (category == null) {
+            throw new IllegalArgumentException("Unknown category '" + categoryName + "'");
+        }
+
+        rollups.add(date, category.getId(), type, amount);
+
+        String description = record.title() != null ? record.description() : null;
+        return new Object[]{null, title, description, amount, type.name(), category.getId(), userId,
+                Timestamp.valueOf(date.atStartOfDay()), version, now, now};
+    }
+
+    private static Transaction.TransactionType parseType(String value) {
+        return switch (value.trim().toUpperCase(Locale.ROOT)) {
+            case "INCOME", "CREDIT", "CR" -> Transaction.TransactionType.INCOME;
+            case "EXPENSE", "DEBIT", "DR" -> Transaction.TransactionType.EXPENSE;
+            default -> throw new IllegalArgumentException("Invalid type '" + value + "'");
+        };
+    }
+
+    private int flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, INSERT_TYPES);
+        int written = batch.size();
+        batch.clear();
+        return written;
+    }
+}
@@ -0,0 +1,314 @@
+package com.financetracker.service;
+
+import com.financetracker.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over transaction titles and descriptions, one per user.
+ * A user's index is built from the database on first search, kept current from
+ * {@link TransactionChangedEvent}s after commit, and evicted least recently used first.
+ */
+@Component
+@Slf4j
+public class TransactionSearchIndex {
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 32;
+    private static final int MAX_PREFIX_EXPANSION = 64;
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+
+    @Value("${app.search.max-users:1000}")
+    private int maxUsers;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate readOnlyTransaction;
+    private Counter builds;
+
+    private final Map<Long, UserIndex> users = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, UserIndex> eldest) {
+            return size() > maxUsers;
+        }
+    };
+
+    private final Map<Long, Object> buildLocks = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicBoolean> building = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        builds = Counter.builder("search.index.builds")
+                .description("Per-user search indexes built from the database")
+                .register(meterRegistry);
+        Gauge.builder("search.index.users", this, TransactionSearchIndex::cachedUsers)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ids of the user's transactions containing every query word, the last word matching
+     * as a prefix; at most limit ids, highest first. Only the first MAX_PREFIX_EXPANSION terms
+     * starting with the last word are searched, and the result says when more existed.
+     */
+    public Result search(Long userId, String query, int limit) {
+        List<String> words = new ArrayList<>(tokenize(query));
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one word");
+        }
+        return indexFor(userId).search(words, limit);
+    }
+
+    public record Result(long[] ids, boolean prefixTruncated) {
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        AtomicBoolean dirty = building.get(event.userId());
+        if (dirty != null) {
+            dirty.set(true);
+        }
+
+        UserIndex index;
+        synchronized (users) {
+            if (event.isBulk()) {
+                users.remove(event.userId());
+                return;
+            }
+            index = users.get(event.userId());
+        }
+        if (index == null) {
+            return;
+        }
+        if (event.before() != null) {
+            index.remove(event.before().id(), event.before().title(), event.before().description());
+        }
+        if (event.after() != null) {
+            index.add(event.after().id(), event.after().title(), event.after().description());
+        }
+    }
+
+    private int cachedUsers() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+
+    private UserIndex cached(Long userId) {
+        synchronized (users) {
+            return users.get(userId);
+        }
+    }
+
+    /**
+     * Builds are serialized per user. Events that commit while a build is reading mark it
+     * dirty, and the build is retried so the cached index never misses a change.
+     */
+    private UserIndex indexFor(Long userId) {
+        UserIndex index = cached(userId);
+        if (index != null) {
+            return index;
+        }
+
+        Object lock = buildLocks.computeIfAbsent(userId, id -> new Object());
+        try {
+            synchronized (lock) {
+                index = cached(userId);
+                if (index != null) {
+                    return index;
+                }
+                for (int attempt = 1; ; attempt++) {
+                    AtomicBoolean dirty = new AtomicBoolean();
+                    building.put(userId, dirty);
+                    try {
+                        index = build(userId);
+                        synchronized (users) {
+                            users.put(userId, index);
+                        }
+                    } finally {
+                        building.remove(userId);
+                    }
+                    if (!dirty.get()) {
+                        return index;
+                    }
+                    synchronized (users) {
+                        users.remove(userId, index);
+                    }
+                    if (attempt == MAX_BUILD_ATTEMPTS) {
+                        log.debug("Search index for user {} kept changing during build, serving it uncached", userId);
+                        return index;
+                    }
+                }
+            }
+        } finally {
+            buildLocks.remove(userId, lock);
+        }
+    }
+
+    private UserIndex build(Long userId) {
+        UserIndex index = new UserIndex();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TransactionRepository.SearchText> rows = transactionRepository.streamSearchTextByUserId(userId)) {
+                rows.forEach(row -> index.add(row.getId(), row.getTitle(), row.getDescription()));
+            }
+        });
+        builds.increment();
+        log.debug("Built search index for user {} with {} terms", userId, index.termCount());
+        return index;
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= MIN_TOKEN_LENGTH) {
+                    tokens.add(lower.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * One user's term dictionary; a sorted map so the last query word can match as a prefix
+     */
+    private static final class UserIndex {
+
+        private final TreeMap<String, PostingList> postings = new TreeMap<>();
+
+        synchronized void add(long id, String title, String description) {
+            for (String token : documentTokens(title, description)) {
+                postings.computeIfAbsent(token, t -> new PostingList()).add(id);
+            }
+        }
+
+        synchronized void remove(long id, String title, String description) {
+            for (String token : documentTokens(title, description)) {
+                PostingList list = postings.get(token);
+                if (list != null && list.remove(id) && list.size() == 0) {
+                    postings.remove(token);
+                }
+            }
+        }
+
+        synchronized int termCount() {
+            return postings.size();
+        }
+
+        /**
+         * Leapfrog intersection over the encoded lists: the shortest list proposes candidates and
+         * every other list skips ahead to them, keeping only the last limit matches
+         */
+        synchronized Result search(List<String> words, int limit) {
+            List<PostingList> exact = new ArrayList<>(words.size());
+            for (int i = 0; i < words.size() - 1; i++) {
+                PostingList list = postings.get(words.get(i));
+                if (list == null) {
+                    return new Result(new long[0], false);
+                }
+                exact.add(list);
+            }
+
+            List<PostingList> prefixLists = new ArrayList<>();
+            int prefixSize = 0;
+            boolean truncated = false;
+            String prefix = words.get(words.size() - 1);
+            for (PostingList list : postings.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+                if (prefixLists.size() == MAX_PREFIX_EXPANSION) {
+                    truncated = true;
+                    break;
+                }
+                prefixLists.add(list);
+                prefixSize += list.size();
+            }
+            if (prefixLists.isEmpty()) {
+                return new Result(new long[0], false);
+            }
+
+            exact.sort((a, b) -> Integer.compare(a.size(), b.size()));
+            PostingList.Cursor prefixCursor = prefixLists.size() == 1
+                    ? prefixLists.get(0).cursor()
+                    : PostingList.union(prefixLists);
+            PostingList.Cursor[] cursors = new PostingList.Cursor[exact.size() + 1];
+            int at = 0;
+            for (PostingList list : exact) {
+                if (at == 0 && prefixSize < list.size()) {
+                    cursors[at++] = prefixCursor;
+                    prefixCursor = null;
+                }
+                cursors[at++] = list.cursor();
+            }
+            if (prefixCursor != null) {
+                cursors[at] = prefixCursor;
+            }
+
+            long[] newest = new long[limit];
+            long matches = 0;
+            long candidate = cursors[0].advanceTo(0);
+            while (candidate != Long.MAX_VALUE) {
+                long agreed = candidate;
+                for (int i = 1; i < cursors.length && agreed == candidate; i++) {
+                    agreed = cursors[i].advanceTo(candidate);
+                }
+                if (agreed == candidate) {
+                    newest[(int) (matches++ % limit)] = candidate;
+                    candidate = cursors[0].advanceTo(candidate + 1);
+                } else {
+                    candidate = cursors[0].advanceTo(agreed);
+                }
+            }
+
+            int count = (int) Math.min(limit, matches);
+            long[] ids = new long[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = newest[(int) ((matches - 1 - i) % limit)];
+            }
+            return new Result(ids, truncated);
+        }
+
+        private static Set<String> documentTokens(String title, String description) {
+            Set<String> tokens = tokenize(title);
+            tokens.addAll(tokenize(description));
+            return tokens;
+        }
+    }
+}
@@ -1,24 +1,64 @@
 package com.financetracker.service;
 
+import com.financetracker.dto.CursorPageDto;
+import com.financetracker.dto.SearchResultDto;
+import com.financetracker.dto.TransactionBatchOperationDto;
+import com.financetracker.dto.TransactionBatchResultDto;
 import com.financetracker.dto.TransactionDto;
+import com.financetracker.dto.TimeSeriesDto;
+import com.financetracker.dto.TransactionSummaryDto;
 import com.financetracker.entity.Category;
+import com.financetracker.entity.SyncTombstone;
 import com.financetracker.entity.Transaction;
 import com.financetracker.entity.User;
+import com.financetracker.exception.DomainException;
+import com.financetracker.exception.NotFoundException;
 import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.MonthlyRollupRepository;
+import com.financetracker.repository.SyncTombstoneRepository;
 import com.financetracker.repository.TransactionRepository;
 import com.financetracker.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Transaction service for managing financial transactions
@@ -28,6 +68,28 @@ import java.util.stream.Collectors;
 @SuppressWarnings("null")
 public class TransactionService {
 
+    // Open ends of a summary range; both are valid timestamps on H2 and PostgreSQL
+    private static final LocalDateTime MIN_DATE = LocalDate.of(1900, 1, 1).atStartOfDay();
+    private static final LocalDateTime MAX_DATE = LocalDate.of(9999, 12, 31).atStartOfDay();
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private static final int STREAM_FLUSH_INTERVAL = 500;
+
+    private static final int MAX_BATCH_OPERATIONS = 1000;
+
+    private static final int MAX_FILTER_CATEGORIES = 50;
+
+    // Eleven years of daily buckets
+    private static final int MAX_TIME_SERIES_BUCKETS = 4018;
+
+    // Buckets a time series covers when no start is given
+    private static final int DEFAULT_TIME_SERIES_BUCKETS = 30;
+
+    public enum Granularity {
+        DAY, WEEK, MONTH
+    }
+
     @Autowired
     private TransactionRepository transactionRepository;
 
@@ -37,70 +99,513 @@ public class TransactionService {
     @Autowired
     private CategoryRepository categoryRepository;
 
-    public TransactionDto createTransaction(String userEmail, TransactionDto dto) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Autowired
+    private RollupService rollupService;
 
-        Category category = categoryRepository.findById(dto.getCategoryId())
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
 
-        LocalDateTime transactionDateTime = dto.getTransactionDate() != null
-                ? dto.getTransactionDate().atStartOfDay()
-                : LocalDateTime.now();
+    @Autowired
+    private ObjectMapper objectMapper;
 
-        Transaction transaction = Transaction.builder()
-                .title(dto.getTitle())
-                .description(dto.getDescription())
-                .amount(dto.getAmount())
-                .type(Transaction.TransactionType.valueOf(dto.getType()))
-                .category(category)
-                .user(user)
-                .transactionDate(transactionDateTime)
-                .build();
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionSearchIndex searchIndex;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private SyncTombstoneRepository tombstoneRepository;
+
+    @Transactional
+    public TransactionDto createTransaction(Long userId, TransactionDto dto) {
+        User user = userRepository.getReferenceById(userId);
+
+        Category category = categoryRepository.findByIdAndUserId(dto.getCategoryId(), userId)
+                .orElseThrow(() -> NotFoundException.CATEGORY);
 
-        Transaction saved = transactionRepository.save(transaction);
+        long version = dataVersionService.bump(userId);
+        Transaction saved = transactionRepository.save(buildTransaction(user, category, dto, version));
+        rollupService.add(userId, saved);
+        eventPublisher.publishEvent(TransactionChangedEvent.created(userId, saved));
         return mapToDto(saved);
     }
 
-    public Page<TransactionDto> getUserTransactions(String userEmail, int page, int size) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Applies a mixed list of creates, updates and deletes in one database transaction.
+     * Categories and existing transactions are each loaded with a single IN query, rollups
+     * are adjusted once per touched bucket, and the writes go out as JDBC batches on commit.
+     * Operations that fail validation are reported in their result and do not stop the rest.
+     */
+    @Transactional
+    public List<TransactionBatchResultDto> applyBatch(Long userId, List<TransactionBatchOperationDto> operations) {
+        if (operations.size() > MAX_BATCH_OPERATIONS) {
+            throw new IllegalArgumentException("A batch may contain at most " + MAX_BATCH_OPERATIONS + " operations");
+        }
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending());
-        Page<Transaction> transactions = transactionRepository.findByUser(user, pageable);
+        Set<Long> categoryIds = new HashSet<>();
+        Set<Long> transactionIds = new HashSet<>();
+        for (TransactionBatchOperationDto op : operations) {
+            if (op.getTransaction() != null && op.getTransaction().getCategoryId() != null) {
+                categoryIds.add(op.getTransaction().getCategoryId());
+            }
+            if (op.getId() != null) {
+                transactionIds.add(op.getId());
+            }
+        }
+
+        Map<Long, Category> categories = new HashMap<>();
+        if (!categoryIds.isEmpty()) {
+            for (Category category : categoryRepository.findByUserIdAndIdIn(userId, categoryIds)) {
+                categories.put(category.getId(), category);
+            }
+        }
+        Map<Long, Transaction> transactions = new HashMap<>();
+        if (!transactionIds.isEmpty()) {
+            for (Transaction transaction : transactionRepository.findByUserIdAndIdIn(userId, transactionIds)) {
+                transactions.put(transaction.getId(), transaction);
+            }
+        }
+
+        User user = userRepository.getReferenceById(userId);
+        long version = dataVersionService.bump(userId);
+        RollupDeltas rollups = new RollupDeltas();
+        List<SyncTombstone> tombstones = new ArrayList<>();
+        List<TransactionBatchResultDto> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            TransactionBatchOperationDto op = operations.get(i);
+            TransactionBatchResultDto result = TransactionBatchResultDto.builder()
+                    .index(i)
+                    .operation(op.getOperation())
+                    .id(op.getId())
+                    .build();
+            try {
+                switch (op.getOperation() != null ? op.getOperation().toUpperCase(Locale.ROOT) : "") {
+                    case "CREATE" -> {
+                        TransactionDto dto = requireTransaction(op);
+                        Category category = categories.get(dto.getCategoryId());
+                        if (category == null) {
+                            throw NotFoundException.CATEGORY;
+                        }
+                        // Sequence ids are assigned on save, so later operations can refer to this one
+                        Transaction saved = transactionRepository.save(buildTransaction(user, category, dto, version));
+                        transactions.put(saved.getId(), saved);
+                        rollups.add(saved);
+                        eventPublisher.publishEvent(TransactionChangedEvent.created(userId, saved));
+                        result.setId(saved.getId());
+                        result.setTransaction(mapToDto(saved));
+                    }
+                    case "UPDATE" -> {
+                        TransactionDto dto = requireTransaction(op);
+                        Transaction transaction = requireExisting(op, transactions);
+                        TransactionChangedEvent.Snapshot before = TransactionChangedEvent.Snapshot.of(transaction);
+                        rollups.remove(transaction);
+                        applyChanges(transaction, dto, version);
+                        rollups.add(transaction);
+                        eventPublisher.publishEvent(TransactionChangedEvent.updated(userId, before, transaction));
+                        result.setTransaction(mapToDto(transaction));
+                    }
+                    case "DELETE" -> {
+                        Transaction transaction = requireExisting(op, transactions);
+                        transactions.remove(transaction.getId());
+                        rollups.remove(transaction);
+                        transactionRepository.delete(transaction);
+                        tombstones.add(SyncTombstone.of(userId, SyncTombstone.EntityType.TRANSACTION,
+                                transaction.getId(), version));
+                        eventPublisher.publishEvent(TransactionChangedEvent.deleted(userId, version, transaction));
+                    }
+                    default -> throw new IllegalArgumentException("Operation must be CREATE, UPDATE or DELETE");
+                }
+                result.setSuccess(true);
+            } catch (DomainException | IllegalArgumentException e) {
+                result.setError(e.getMessage());
+            }
+            results.add(result);
+        }
+
+        rollupService.apply(userId, rollups);
+        tombstoneRepository.saveAll(tombstones);
+        return results;
+    }
+
+    public Page<TransactionDto> getUserTransactions(Long userId, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending()
+                .and(Sort.by("id").descending()));
+        return transactionRepository.findDtosByUserId(userId, pageable);
+    }
+
+    /**
+     * Keyset pagination: seeks past the cursor position instead of skipping rows, and
+     * fetches one extra row to know whether another page exists instead of counting
+     */
+    public CursorPageDto<TransactionDto> getUserTransactionsAfter(Long userId, String cursor, int size,
+                                                                  List<Long> categoryIds) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+        boolean filtered = categoryIds != null && !categoryIds.isEmpty();
+        if (filtered && categoryIds.size() > MAX_FILTER_CATEGORIES) {
+            throw new IllegalArgumentException("At most " + MAX_FILTER_CATEGORIES + " categories can be filtered on");
+        }
+
+        List<TransactionDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = filtered
+                    ? transactionRepository.findByUserAndCategory(userId, categoryIds, limit)
+                    : transactionRepository.findFirstPage(userId, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            rows = filtered
+                    ? transactionRepository.findByUserAndCategoryAfter(
+                            userId, categoryIds, position.transactionDate(), position.id(), limit)
+                    : transactionRepository.findPageAfter(userId, position.transactionDate(), position.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionDto> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionDto last = page.get(page.size() - 1);
+            nextCursor = new TransactionCursor(last.getTransactionDateTime(), last.getId()).encode();
+        }
+
+        return CursorPageDto.<TransactionDto>builder()
+                .items(page)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Matches come from the in-process index; the database is only read for the final rows
+     */
+    public SearchResultDto searchTransactions(Long userId, String query, int limit) {
+        TransactionSearchIndex.Result matches =
+                searchIndex.search(userId, query, Math.max(1, Math.min(limit, MAX_CURSOR_PAGE_SIZE)));
+        List<TransactionDto> items = matches.ids().length == 0
+                ? List.of()
+                : transactionRepository.findDtosByUserIdAndIdIn(userId, Arrays.stream(matches.ids()).boxed().toList());
+        return SearchResultDto.builder()
+                .items(items)
+                .prefixTruncated(matches.prefixTruncated())
+                .build();
+    }
+
+    public List<TransactionDto> getTransactionsByDateRange(Long userId, LocalDate start, LocalDate end) {
+        LocalDateTime startDateTime = start.atStartOfDay();
+        LocalDateTime endDateTime = end.plusDays(1).atStartOfDay();
 
-        return transactions.map(this::mapToDto);
+        return transactionRepository.findDtosByUserIdAndDateRange(userId, startDateTime, endDateTime);
     }
 
-    public List<TransactionDto> getTransactionsByDateRange(String userEmail, LocalDate start, LocalDate end) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Writes the range as newline-delimited JSON straight from a database cursor. Rows are
+     * projected to DTOs, so nothing accumulates in the persistence context as the range grows.
+     */
+    @Transactional(readOnly = true)
+    public long streamTransactionsByDateRange(Long userId, LocalDate start, LocalDate end, OutputStream out)
+            throws IOException {
+        LocalDateTime startDateTime = start.atStartOfDay();
+        LocalDateTime endDateTime = end.plusDays(1).atStartOfDay();
 
+        // The mapper flushes after every value by default, which would defeat the flush interval
+        ObjectWriter writer = objectMapper.writerFor(TransactionDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long written = 0;
+        try (Stream<TransactionDto> rows = transactionRepository.streamDtosByUserIdAndDateRange(
+                userId, startDateTime, endDateTime);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+
+            Iterator<TransactionDto> it = rows.iterator();
+            while (it.hasNext()) {
+                writer.writeValue(generator, it.next());
+                if (++written % STREAM_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Writes the range as CSV straight from a database cursor, oldest first. Text fields that
+     * a spreadsheet would evaluate as a formula are prefixed with a single quote.
+     */
+    @Transactional(readOnly = true)
+    public long streamTransactionsAsCsv(Long userId, LocalDate start, LocalDate end, OutputStream out)
+            throws IOException {
         LocalDateTime startDateTime = start.atStartOfDay();
         LocalDateTime endDateTime = end.plusDays(1).atStartOfDay();
 
-        return transactionRepository.findByUserAndTransactionDateBetween(user, startDateTime, endDateTime).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        long written = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        writer.write("id,date,title,description,amount,type,category\n");
+        try (Stream<TransactionDto> rows = transactionRepository.streamDtosByUserIdAndDateRange(
+                userId, startDateTime, endDateTime)) {
+            Iterator<TransactionDto> it = rows.iterator();
+            while (it.hasNext()) {
+                TransactionDto dto = it.next();
+                writer.write(String.valueOf(dto.getId()));
+                writer.write(',');
+                writer.write(dto.getTransactionDate().toString());
+                writer.write(',');
+                writeCsvField(writer, dto.getTitle());
+                writer.write(',');
+                writeCsvField(writer, dto.getDescription());
+                writer.write(',');
+                writer.write(dto.getAmount().toPlainString());
+                writer.write(',');
+                writer.write(dto.getType());
+                writer.write(',');
+                writeCsvField(writer, dto.getCategoryName());
+                writer.write('\n');
+                written++;
+            }
+        }
+        writer.flush();
+        return written;
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Income, expense and balance aggregated in the database with one GROUP BY on type.
+     * Ranges covering whole months read the monthly rollups instead of the transactions.
+     */
+    public TransactionSummaryDto getSummary(Long userId, LocalDate start, LocalDate end, List<Long> categoryIds) {
+        if (start != null && end != null && end.isBefore(start)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        boolean allCategories = categoryIds == null || categoryIds.isEmpty();
+        List<Long> categoryFilter = allCategories ? List.of(-1L) : categoryIds;
+
+        // Month-aligned ranges are answered from the rollup table, one row per month and category
+        boolean monthAligned = (start == null || start.getDayOfMonth() == 1)
+                && (end == null || end.getDayOfMonth() == end.lengthOfMonth());
+        List<TransactionRepository.TypeTotal> totals = monthAligned
+                ? rollupRepository.sumByType(
+                        userId,
+                        start != null ? RollupService.yearMonth(start) : 0,
+                        end != null ? RollupService.yearMonth(end) : Integer.MAX_VALUE,
+                        allCategories,
+                        categoryFilter)
+                : transactionRepository.sumByType(
+                        userId,
+                        start != null ? start.atStartOfDay() : MIN_DATE,
+                        end != null ? end.plusDays(1).atStartOfDay() : MAX_DATE,
+                        allCategories,
+                        categoryFilter);
+
+        TransactionSummaryDto summary = TransactionSummaryDto.builder()
+                .income(BigDecimal.ZERO)
+                .expense(BigDecimal.ZERO)
+                .start(start)
+                .end(end)
+                .build();
+        for (TransactionRepository.TypeTotal total : totals) {
+            BigDecimal amount = total.getTotal() != null ? total.getTotal() : BigDecimal.ZERO;
+            if (total.getType() == Transaction.TransactionType.INCOME) {
+                summary.setIncome(amount);
+                summary.setIncomeCount(total.getCount());
+            } else {
+                summary.setExpense(amount);
+                summary.setExpenseCount(total.getCount());
+            }
+        }
+        summary.setBalance(summary.getIncome().subtract(summary.getExpense()));
+        return summary;
+    }
+
+    /**
+     * Income and expense per day, week (starting Monday) or month. The range is widened to
+     * whole buckets, and end defaults to today in the given time zone. The database returns
+     * only non-empty buckets, oldest first; they are placed into pre-sized arrays in one pass
+     * that leaves zeros in the gaps. Monthly series are read from the rollups.
+     */
+    public TimeSeriesDto getTimeSeries(Long userId, String granularity, LocalDate start, LocalDate end,
+                                       String timeZone) {
+        Granularity unit;
+        try {
+            unit = Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Granularity must be day, week or month");
+        }
+        if (end == null) {
+            ZoneId zone;
+            try {
+                zone = timeZone != null ? ZoneId.of(timeZone) : ZoneId.systemDefault();
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException("Unknown time zone '" + timeZone + "'");
+            }
+            end = LocalDate.now(zone);
+        }
+        if (start == null) {
+            start = bucketStart(unit, end, 1 - DEFAULT_TIME_SERIES_BUCKETS);
+        }
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        LocalDate first = bucketStart(unit, start, 0);
+        long buckets = bucketIndex(unit, first, end) + 1;
+        if (buckets > MAX_TIME_SERIES_BUCKETS) {
+            throw new IllegalArgumentException("A time series has at most " + MAX_TIME_SERIES_BUCKETS
+                    + " buckets; use a shorter range or a coarser granularity");
+        }
+        int size = (int) buckets;
+        LocalDate[] starts = new LocalDate[size];
+        long[] income = new long[size];
+        long[] expense = new long[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = bucketStart(unit, first, i);
+        }
+
+        if (unit == Granularity.MONTH) {
+            for (MonthlyRollupRepository.MonthTotal row : rollupRepository.sumByMonthAndType(
+                    userId, RollupService.yearMonth(first), RollupService.yearMonth(end))) {
+                LocalDate month = LocalDate.of(row.getYearMonth() / 100, row.getYearMonth() % 100, 1);
+                addCents(row.getType(), row.getTotal(), (int) bucketIndex(unit, first, month), income, expense);
+            }
+        } else {
+            LocalDate after = bucketStart(unit, first, size);
+            for (TransactionRepository.DailyTotal row : transactionRepository.sumByDayAndType(
+                    userId, first.atStartOfDay(), after.atStartOfDay())) {
+                addCents(row.getType(), row.getTotal(), (int) bucketIndex(unit, first, row.getDay()), income, expense);
+            }
+        }
+
+        return TimeSeriesDto.builder()
+                .granularity(unit.name().toLowerCase(Locale.ROOT))
+                .bucketStart(starts)
+                .incomeCents(income)
+                .expenseCents(expense)
+                .build();
+    }
+
+    /**
+     * Start of the bucket containing date, moved by offset buckets
+     */
+    private static LocalDate bucketStart(Granularity unit, LocalDate date, long offset) {
+        return switch (unit) {
+            case DAY -> date.plusDays(offset);
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).plusWeeks(offset);
+            case MONTH -> date.withDayOfMonth(1).plusMonths(offset);
+        };
+    }
+
+    private static long bucketIndex(Granularity unit, LocalDate first, LocalDate date) {
+        return switch (unit) {
+            case DAY -> ChronoUnit.DAYS.between(first, date);
+            case WEEK -> ChronoUnit.DAYS.between(first, date) / 7;
+            case MONTH -> ChronoUnit.MONTHS.between(first, date);
+        };
+    }
+
+    private static void addCents(Transaction.TransactionType type, BigDecimal total, int bucket,
+                                 long[] income, long[] expense) {
+        long cents = total.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        if (type == Transaction.TransactionType.INCOME) {
+            income[bucket] += cents;
+        } else {
+            expense[bucket] += cents;
+        }
     }
 
-    public TransactionDto updateTransaction(Long id, TransactionDto dto) {
-        Transaction transaction = transactionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Transaction not found"));
+    @Transactional
+    public TransactionDto updateTransaction(Long userId, Long id, TransactionDto dto) {
+        Transaction transaction = transactionRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> NotFoundException.TRANSACTION);
 
+        TransactionChangedEvent.Snapshot before = TransactionChangedEvent.Snapshot.of(transaction);
+        applyChanges(transaction, dto, dataVersionService.bump(userId));
+
+        Transaction updated = transactionRepository.save(transaction);
+        rollupService.move(userId, RollupService.yearMonth(before.transactionDate()), before.categoryId(),
+                before.type(), before.amount(), updated);
+        eventPublisher.publishEvent(TransactionChangedEvent.updated(userId, before, updated));
+        return mapToDto(updated);
+    }
+
+    @Transactional
+    public void deleteTransaction(Long userId, Long id) {
+        Transaction transaction = transactionRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> NotFoundException.TRANSACTION);
+
+        long version = dataVersionService.bump(userId);
+        rollupService.remove(userId, transaction);
+        transactionRepository.delete(transaction);
+        tombstoneRepository.save(SyncTombstone.of(userId, SyncTombstone.EntityType.TRANSACTION, id, version));
+        eventPublisher.publishEvent(TransactionChangedEvent.deleted(userId, version, transaction));
+    }
+
+    private static Transaction buildTransaction(User user, Category category, TransactionDto dto, long version) {
+        LocalDateTime transactionDateTime = dto.getTransactionDate() != null
+                ? dto.getTransactionDate().atStartOfDay()
+                : LocalDateTime.now();
+
+        return Transaction.builder()
+                .title(dto.getTitle())
+                .description(dto.getDescription())
+                .amount(dto.getAmount())
+                .type(Transaction.TransactionType.valueOf(dto.getType()))
+                .category(category)
+                .user(user)
+                .transactionDate(transactionDateTime)
+                .changeVersion(version)
+                .build();
+    }
+
+    private static void applyChanges(Transaction transaction, TransactionDto dto, long version) {
         transaction.setTitle(dto.getTitle());
         transaction.setDescription(dto.getDescription());
         transaction.setAmount(dto.getAmount());
         transaction.setTransactionDate(dto.getTransactionDate() != null
                 ? dto.getTransactionDate().atStartOfDay()
                 : transaction.getTransactionDate());
+        transaction.setChangeVersion(version);
+    }
 
-        Transaction updated = transactionRepository.save(transaction);
-        return mapToDto(updated);
+    /**
+     * Batch items are validated up front so a bad item fails alone instead of failing the
+     * whole batch at flush time
+     */
+    private static TransactionDto requireTransaction(TransactionBatchOperationDto op) {
+        TransactionDto dto = op.getTransaction();
+        if (dto == null || dto.getTitle() == null || dto.getAmount() == null || dto.getType() == null) {
+            throw new IllegalArgumentException("Transaction with title, amount and type is required");
+        }
+        return dto;
     }
 
-    public void deleteTransaction(Long id) {
-        transactionRepository.deleteById(id);
+    private static Transaction requireExisting(TransactionBatchOperationDto op, Map<Long, Transaction> transactions) {
+        Transaction transaction = op.getId() != null ? transactions.get(op.getId()) : null;
+        if (transaction == null) {
+            throw NotFoundException.TRANSACTION;
+        }
+        return transaction;
     }
 
     private TransactionDto mapToDto(Transaction transaction) {
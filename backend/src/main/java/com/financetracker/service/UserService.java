@@ -2,10 +2,12 @@ package com.financetracker.service;
 
 import com.financetracker.dto.UserProfileDto;
 import com.financetracker.entity.User;
+import com.financetracker.exception.NotFoundException;
 import com.financetracker.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * User service for managing user profile
@@ -17,22 +19,27 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
-    public UserProfileDto getUserProfile(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    public UserProfileDto getUserProfile(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> NotFoundException.USER);
 
         return mapToDto(user);
     }
 
-    public UserProfileDto updateProfile(String email, UserProfileDto dto) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Transactional
+    public UserProfileDto updateProfile(Long userId, UserProfileDto dto) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> NotFoundException.USER);
 
         user.setFirstName(dto.getFirstName());
         user.setLastName(dto.getLastName());
         user.setCurrency(dto.getCurrency());
 
         User updated = userRepository.save(user);
+        dataVersionService.bump(userId);
         return mapToDto(updated);
     }
 
@@ -0,0 +1,127 @@
+package com.financetracker.config;
+
+import com.financetracker.IntegrationTest;
+import com.financetracker.RecordingStatementInspector;
+import com.financetracker.dto.TransactionDto;
+import com.financetracker.security.JwtTokenProvider;
+import com.financetracker.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A GET whose If-None-Match carries the current data version is answered 304 without running a
+ * single statement, and any write moves the version on so the next GET is served in full
+ */
+class DataVersionInterceptorTest extends IntegrationTest {
+
+    private static final List<String> VERSIONED_PATHS = List.of("/transactions", "/categories", "/users/profile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void currentVersionIsAnsweredWithoutStatements() throws Exception {
+        Long userId = createUser();
+        String token = tokenProvider.generateToken(userId, "etag@example.com");
+        Long categoryId = createCategory(userId, "Food", "EXPENSE");
+        transactionService.createTransaction(userId, TransactionDto.builder()
+                .title("Lunch")
+                .amount(new BigDecimal("12.50"))
+                .type("EXPENSE")
+                .categoryId(categoryId)
+                .transactionDate(LocalDate.of(2025, 3, 1))
+                .build());
+        double hitsBefore = meterRegistry.get("http.etag.hits").functionCounter().count();
+
+        for (String path : VERSIONED_PATHS) {
+            MockHttpServletResponse full = perform(path, token, null);
+            assertThat(full.getStatus()).as("%s without If-None-Match", path).isEqualTo(200);
+            String etag = full.getHeader(HttpHeaders.ETAG);
+            assertThat(etag).as("%s ETag", path).startsWith("W/\"" + userId + "-");
+
+            Statistics statistics = statistics();
+            statistics.clear();
+            RecordingStatementInspector.start();
+            MockHttpServletResponse notModified;
+            List<String> statements;
+            try {
+                notModified = perform(path, token, etag);
+            } finally {
+                statements = RecordingStatementInspector.stop();
+            }
+
+            assertThat(notModified.getStatus()).as("%s with current ETag", path).isEqualTo(304);
+            assertThat(notModified.getContentAsByteArray()).as("%s body", path).isEmpty();
+            assertThat(notModified.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+            assertThat(statements).as("%s statements", path).isEmpty();
+            assertThat(statistics.getPrepareStatementCount()).as("%s prepared statements", path).isZero();
+            assertThat(statistics.getEntityLoadCount()).as("%s entities loaded", path).isZero();
+        }
+
+        assertThat(meterRegistry.get("http.etag.hits").functionCounter().count() - hitsBefore)
+                .isEqualTo(VERSIONED_PATHS.size());
+    }
+
+    @Test
+    void writeInvalidatesTheTag() throws Exception {
+        Long userId = createUser();
+        String token = tokenProvider.generateToken(userId, "etag@example.com");
+        String etag = perform("/categories", token, null).getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/categories")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Travel\",\"type\":\"EXPENSE\"}"))
+                .andExpect(status().isCreated());
+
+        MockHttpServletResponse stale = perform("/categories", token, etag);
+        assertThat(stale.getStatus()).isEqualTo(200);
+        assertThat(stale.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(stale.getContentAsString()).contains("Travel");
+    }
+
+    @Test
+    void tagNeverMatchesAnotherUser() throws Exception {
+        Long userId = createUser();
+        Long otherUserId = createUser();
+        String etag = perform("/categories", tokenProvider.generateToken(userId, "etag@example.com"), null)
+                .getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse other = perform("/categories",
+                tokenProvider.generateToken(otherUserId, "other@example.com"), etag);
+        assertThat(other.getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse perform(String path, String token, String ifNoneMatch) throws Exception {
+        MockHttpServletRequestBuilder request = get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+}
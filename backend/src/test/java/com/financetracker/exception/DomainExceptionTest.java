@@ -0,0 +1,81 @@
+package com.financetracker.exception;
+
+import com.financetracker.config.GlobalExceptionHandler;
+import com.financetracker.dto.ApiResponseDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * Shared domain exceptions never capture a stack trace, stay unchanged however often they are
+ * thrown, and reach the client with their own status and message
+ */
+class DomainExceptionTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    static Stream<Arguments> sharedInstances() {
+        return Stream.of(
+                Arguments.of(NotFoundException.USER, HttpStatus.NOT_FOUND),
+                Arguments.of(NotFoundException.CATEGORY, HttpStatus.NOT_FOUND),
+                Arguments.of(NotFoundException.TRANSACTION, HttpStatus.NOT_FOUND),
+                Arguments.of(NotFoundException.BUDGET, HttpStatus.NOT_FOUND),
+                Arguments.of(ConflictException.EMAIL_TAKEN, HttpStatus.CONFLICT),
+                Arguments.of(ConflictException.BATCH_JOB_RUNNING, HttpStatus.CONFLICT));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sharedInstances")
+    void sharedInstanceHasNoStackTrace(DomainException shared, HttpStatus status) {
+        for (int i = 0; i < 3; i++) {
+            DomainException thrown = catchThrowableOfType(() -> {
+                throw shared;
+            }, DomainException.class);
+            thrown.addSuppressed(new IllegalStateException("ignored"));
+            assertThat(thrown).isSameAs(shared);
+        }
+
+        assertThat(shared.getStackTrace()).isEmpty();
+        assertThat(shared.fillInStackTrace().getStackTrace()).isEmpty();
+        assertThat(shared.getSuppressed()).isEmpty();
+        assertThat(shared.getCause()).isNull();
+        assertThat(shared.getStatus()).isEqualTo(status);
+    }
+
+    @ParameterizedTest
+    @MethodSource("sharedInstances")
+    void handlerMapsSharedInstanceToItsStatus(DomainException shared, HttpStatus status) {
+        ResponseEntity<ApiResponseDto<String>> response = handler.handleDomain(shared, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(status);
+        assertThat(response.getBody().isSuccess()).isFalse();
+        assertThat(response.getBody().getMessage()).isEqualTo(shared.getMessage());
+    }
+
+    @Test
+    void perRequestExceptionsAlsoSkipStackTraces() {
+        assertThat(new InvalidRefreshTokenException().getStackTrace()).isEmpty();
+        assertThat(new LoginThrottledException(30).getStackTrace()).isEmpty();
+        assertThat(new PasswordHashingBusyException(2).getStackTrace()).isEmpty();
+
+        ResponseEntity<ApiResponseDto<String>> throttled = handler.handleLoginThrottled(new LoginThrottledException(30), null);
+        assertThat(throttled.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(throttled.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+
+        ResponseEntity<ApiResponseDto<String>> busy = handler.handlePasswordHashingBusy(new PasswordHashingBusyException(2), null);
+        assertThat(busy.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(busy.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+
+        assertThat(handler.handleDomain(new InvalidRefreshTokenException(), null).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+}
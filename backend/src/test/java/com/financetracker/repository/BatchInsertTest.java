@@ -0,0 +1,91 @@
+package com.financetracker.repository;
+
+import com.financetracker.IntegrationTest;
+import com.financetracker.entity.Category;
+import com.financetracker.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sequence ids let Hibernate batch inserts: persisting n entities executes one JDBC batch per
+ * 50 rows (hibernate.jdbc.batch_size) and calls the sequence once per 50 ids (pooled-lo)
+ */
+class BatchInsertTest extends IntegrationTest {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50, 51, 120, 500})
+    void insertsAreBatched(int rows) {
+        Long userId = createUser();
+        Statistics statistics = statistics();
+        long sequenceBefore = sequenceValue();
+        statistics.clear();
+        BatchCounter batches = new BatchCounter();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(SessionImplementor.class).getEventListenerManager().addListener(batches);
+            User user = userRepository.getReferenceById(userId);
+            List<Category> categories = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                categories.add(Category.builder()
+                        .name("Category " + i)
+                        .type(Category.CategoryType.EXPENSE)
+                        .color("#000000")
+                        .user(user)
+                        .changeVersion(1L)
+                        .build());
+            }
+            categoryRepository.saveAll(categories);
+        });
+
+        long sequenceCalls = (sequenceValue() - sequenceBefore) / BATCH_SIZE;
+        long insertBatches = (rows + BATCH_SIZE - 1) / BATCH_SIZE;
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(rows);
+        // Ids left over from an earlier block can save one call, and a block can straddle the boundary
+        assertThat(sequenceCalls).as("sequence calls").isBetween(insertBatches - 1, insertBatches);
+        assertThat(batches.executed).as("JDBC batches").isEqualTo(insertBatches);
+        // One INSERT statement is prepared and reused by every batch
+        assertThat(statistics.getPrepareStatementCount()).as("statements").isEqualTo(1 + sequenceCalls);
+    }
+
+    private static final class BatchCounter extends BaseSessionEventListener {
+
+        int executed;
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            executed++;
+        }
+    }
+
+    private long sequenceValue() {
+        return jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES " +
+                "WHERE SEQUENCE_NAME = 'CATEGORIES_SEQ'", Long.class);
+    }
+}
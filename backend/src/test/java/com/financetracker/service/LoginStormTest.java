@@ -0,0 +1,86 @@
+package com.financetracker.service;
+
+import com.financetracker.IntegrationTest;
+import com.financetracker.dto.RegisterRequestDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * A burst of logins larger than the hashing pool can serve is shed with 503 and Retry-After
+ * instead of parking request threads until the hashes drain
+ */
+class LoginStormTest extends IntegrationTest {
+
+    private static final int CALLERS = 48;
+    // max-wait-ms plus scheduling slack; a rejected login never waits for a hash to finish
+    private static final long MAX_REJECTION_MS = 1500;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void loginStormIsShedWithRetryAfter() throws Exception {
+        String email = "storm-" + System.nanoTime() + "@example.com";
+        RegisterRequestDto registration = new RegisterRequestDto();
+        registration.setEmail(email);
+        registration.setPassword("password123");
+        registration.setFirstName("Storm");
+        registration.setLastName("Test");
+        authService.register(registration);
+        String body = "{\"email\":\"" + email + "\",\"password\":\"password123\"}";
+
+        // One login on its own so the executor knows what a hash costs
+        assertThat(login(body).response.getStatus()).isEqualTo(200);
+
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        List<Future<Result>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(callers.submit(() -> login(body)));
+            }
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+
+            List<Result> shed = results.stream().filter(r -> r.response.getStatus() == 503).toList();
+            assertThat(results).allSatisfy(r -> assertThat(r.response.getStatus()).isIn(200, 503));
+            assertThat(results).anySatisfy(r -> assertThat(r.response.getStatus()).isEqualTo(200));
+            assertThat(shed).isNotEmpty();
+            assertThat(shed).allSatisfy(r -> assertThat(r.response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2"));
+            assertThat(shed).allSatisfy(r -> assertThat(r.elapsedMs).as("rejection latency").isLessThan(MAX_REJECTION_MS));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private Result login(String body) throws Exception {
+        long start = System.nanoTime();
+        MockHttpServletResponse response = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn()
+                .getResponse();
+        return new Result(response, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private record Result(MockHttpServletResponse response, long elapsedMs) {
+    }
+}
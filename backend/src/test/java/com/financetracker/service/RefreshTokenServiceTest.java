@@ -0,0 +1,55 @@
+package com.financetracker.service;
+
+import com.financetracker.IntegrationTest;
+import com.financetracker.entity.RefreshToken;
+import com.financetracker.exception.InvalidRefreshTokenException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+class RefreshTokenServiceTest extends IntegrationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @AfterEach
+    void resetSpy() {
+        Mockito.reset(refreshTokenRepository);
+    }
+
+    @Test
+    void failedSuccessorInsertLeavesPresentedTokenUsable() {
+        Long userId = createUser();
+        String token = refreshTokenService.issue(userId);
+
+        doThrow(new DataIntegrityViolationException("insert failed"))
+                .when(refreshTokenRepository).save(any(RefreshToken.class));
+        assertThatThrownBy(() -> refreshTokenService.rotate(token))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        Mockito.reset(refreshTokenRepository);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(token);
+        assertThat(rotation.userId()).isEqualTo(userId);
+        assertThat(refreshTokenService.rotate(rotation.refreshToken()).userId()).isEqualTo(userId);
+    }
+
+    @Test
+    void reusedTokenRevokesFamily() {
+        Long userId = createUser();
+        String token = refreshTokenService.issue(userId);
+        String next = refreshTokenService.rotate(token).refreshToken();
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(token))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        // The revocation commits even though the reuse attempt fails
+        assertThatThrownBy(() -> refreshTokenService.rotate(next))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+}
@@ -0,0 +1,133 @@
+package com.financetracker.service;
+
+import com.financetracker.IntegrationTest;
+import com.financetracker.dto.TransactionDto;
+import com.financetracker.entity.Transaction;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Forecast statistics follow transaction events only while versions arrive in order; a
+ * skipped or repeated version drops them so the next projection seeds from the database
+ */
+class SpendForecasterTest extends IntegrationTest {
+
+    @Autowired
+    private SpendForecaster forecaster;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long userId;
+    private Long categoryId;
+    private LocalDate today;
+
+    @BeforeEach
+    void createExpenses() {
+        userId = createUser();
+        categoryId = createCategory(userId, "Food", "EXPENSE");
+        today = LocalDate.now();
+        for (int i = 1; i <= 20; i++) {
+            createExpense(today.minusDays(i * 3L), 10 + i);
+        }
+    }
+
+    @Test
+    void inOrderEventsAreAppliedWithoutSeeding() {
+        SpendForecaster.Projection seeded = project();
+        double seeds = seeds();
+
+        createExpense(today, 40);
+        SpendForecaster.Projection applied = project();
+
+        assertThat(seeds()).as("seeds").isEqualTo(seeds);
+        assertThat(applied.remaining()).isNotEqualTo(seeded.remaining());
+
+        // A fresh seed from the database agrees with the statistics the event built
+        forecaster.onTransactionChanged(event(dataVersionService.current(userId) + 2, 1));
+        SpendForecaster.Projection reseeded = project();
+        assertThat(seeds()).as("seeds").isEqualTo(seeds + 1);
+        assertThat(reseeded.remaining()).isCloseTo(applied.remaining(), within(1e-6));
+        assertThat(reseeded.stdDev()).isCloseTo(applied.stdDev(), within(1e-6));
+    }
+
+    @Test
+    void skippedVersionReseeds() {
+        SpendForecaster.Projection seeded = project();
+        double seeds = seeds();
+
+        // Version current + 1 has not been applied yet, so current + 2 is out of order
+        forecaster.onTransactionChanged(event(dataVersionService.current(userId) + 2, 1000));
+        SpendForecaster.Projection after = project();
+
+        assertThat(seeds()).as("seeds").isEqualTo(seeds + 1);
+        assertThat(after.remaining()).isCloseTo(seeded.remaining(), within(1e-6));
+    }
+
+    @Test
+    void lateEventOfTheSeededVersionReseeds() {
+        SpendForecaster.Projection seeded = project();
+        double seeds = seeds();
+
+        // The seed already read this version's rows; applying its event again would count it twice
+        forecaster.onTransactionChanged(event(dataVersionService.current(userId), 1000));
+        SpendForecaster.Projection after = project();
+
+        assertThat(seeds()).as("seeds").isEqualTo(seeds + 1);
+        assertThat(after.remaining()).isCloseTo(seeded.remaining(), within(1e-6));
+    }
+
+    @Test
+    void eventsOfOneCommitShareItsVersion() {
+        SpendForecaster.Projection seeded = project();
+        double seeds = seeds();
+        long next = dataVersionService.current(userId) + 1;
+
+        forecaster.onTransactionChanged(event(next, 1));
+        SpendForecaster.Projection first = project();
+        forecaster.onTransactionChanged(event(next, 1));
+        SpendForecaster.Projection second = project();
+
+        assertThat(seeds()).as("seeds").isEqualTo(seeds);
+        assertThat(first.remaining()).isNotEqualTo(seeded.remaining());
+        assertThat(second.remaining()).isNotEqualTo(first.remaining());
+    }
+
+    private SpendForecaster.Projection project() {
+        return forecaster.project(userId, null, today, today.plusDays(30));
+    }
+
+    private double seeds() {
+        return meterRegistry.counter("forecast.seeds").count();
+    }
+
+    private void createExpense(LocalDate date, int amount) {
+        transactionService.createTransaction(userId, TransactionDto.builder()
+                .title("Groceries")
+                .amount(BigDecimal.valueOf(amount))
+                .type("EXPENSE")
+                .categoryId(categoryId)
+                .transactionDate(date)
+                .build());
+    }
+
+    private TransactionChangedEvent event(long version, int amount) {
+        TransactionChangedEvent.Snapshot expense = new TransactionChangedEvent.Snapshot(-version, "Synthetic", null,
+                BigDecimal.valueOf(amount), Transaction.TransactionType.EXPENSE, categoryId, today.atStartOfDay());
+        return new TransactionChangedEvent(userId, version, TransactionChangedEvent.Change.CREATED, null, expense);
+    }
+}
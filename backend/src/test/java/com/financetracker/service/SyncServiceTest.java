@@ -0,0 +1,171 @@
+package com.financetracker.service;
+
+import com.financetracker.IntegrationTest;
+import com.financetracker.dto.CategoryDto;
+import com.financetracker.dto.SyncResponseDto;
+import com.financetracker.dto.TransactionDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A cursor from a previous sync yields only what was written after it, deletions included as
+ * tombstones, and a tombstone is compacted once every registered device has synced past it
+ */
+class SyncServiceTest extends IntegrationTest {
+
+    private static final int TRANSACTIONS = 30;
+    private static final int PAGE_SIZE = 8;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deltaCarriesOnlyChangesAndTombstones() {
+        Long userId = createUser();
+        Long categoryId = createCategory(userId, "Food", "EXPENSE");
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            ids.add(transactionService.createTransaction(userId, transaction("Row " + i, categoryId)).getId());
+        }
+
+        List<SyncResponseDto> fullSync = drain(userId, "phone", null);
+        assertThat(fullSync).hasSize((TRANSACTIONS + PAGE_SIZE - 1) / PAGE_SIZE);
+        assertThat(fullSync.get(0).isFull()).isTrue();
+        assertThat(fullSync).flatExtracting(SyncResponseDto::getTransactions).hasSize(TRANSACTIONS);
+        String cursor = last(fullSync).getCursor();
+
+        SyncResponseDto steady = syncService.sync(userId, "phone", cursor, PAGE_SIZE);
+        assertThat(steady.isFull()).isFalse();
+        assertThat(steady.getTransactions()).isEmpty();
+        assertThat(steady.getCategories()).isEmpty();
+        assertThat(steady.getDeletedTransactionIds()).isEmpty();
+
+        transactionService.updateTransaction(userId, ids.get(3), transaction("Renamed", categoryId));
+        transactionService.deleteTransaction(userId, ids.get(7));
+        Long travelId = createCategory(userId, "Travel", "EXPENSE");
+
+        SyncResponseDto delta = syncService.sync(userId, "phone", steady.getCursor(), PAGE_SIZE);
+        assertThat(delta.isFull()).isFalse();
+        assertThat(delta.isHasMore()).isFalse();
+        assertThat(delta.getTransactions()).extracting(TransactionDto::getId).containsExactly(ids.get(3));
+        assertThat(delta.getTransactions().get(0).getTitle()).isEqualTo("Renamed");
+        assertThat(delta.getDeletedTransactionIds()).containsExactly(ids.get(7));
+        assertThat(delta.getCategories()).extracting(CategoryDto::getId).containsExactly(travelId);
+
+        SyncResponseDto after = syncService.sync(userId, "phone", delta.getCursor(), PAGE_SIZE);
+        assertThat(after.getTransactions()).isEmpty();
+        assertThat(after.getDeletedTransactionIds()).isEmpty();
+    }
+
+    @Test
+    void categoryDeleteLeavesTombstonesForItsTransactions() {
+        Long userId = createUser();
+        Long keptId = createCategory(userId, "Food", "EXPENSE");
+        Long droppedId = createCategory(userId, "Travel", "EXPENSE");
+        transactionService.createTransaction(userId, transaction("Lunch", keptId));
+        Long flightId = transactionService.createTransaction(userId, transaction("Flight", droppedId)).getId();
+        String cursor = last(drain(userId, "phone", null)).getCursor();
+
+        categoryService.deleteCategory(userId, droppedId);
+
+        SyncResponseDto delta = syncService.sync(userId, "phone", cursor, PAGE_SIZE);
+        assertThat(delta.getDeletedCategoryIds()).containsExactly(droppedId);
+        assertThat(delta.getDeletedTransactionIds()).containsExactly(flightId);
+        assertThat(delta.getTransactions()).isEmpty();
+    }
+
+    @Test
+    void tombstoneIsCompactedOnceEveryDeviceHasMovedPast() {
+        Long userId = createUser();
+        Long categoryId = createCategory(userId, "Food", "EXPENSE");
+        Long deletedId = transactionService.createTransaction(userId, transaction("Lunch", categoryId)).getId();
+        transactionService.createTransaction(userId, transaction("Dinner", categoryId));
+        String phone = last(drain(userId, "phone", null)).getCursor();
+        String tablet = last(drain(userId, "tablet", null)).getCursor();
+        // Presenting the cursor acknowledges everything before it
+        phone = syncService.sync(userId, "phone", phone, PAGE_SIZE).getCursor();
+        tablet = syncService.sync(userId, "tablet", tablet, PAGE_SIZE).getCursor();
+
+        transactionService.deleteTransaction(userId, deletedId);
+        syncService.compact();
+        assertThat(tombstones(userId)).as("before any device synced the delete").isEqualTo(1);
+
+        SyncResponseDto phoneDelta = syncService.sync(userId, "phone", phone, PAGE_SIZE);
+        assertThat(phoneDelta.getDeletedTransactionIds()).containsExactly(deletedId);
+        syncService.sync(userId, "phone", phoneDelta.getCursor(), PAGE_SIZE);
+        syncService.compact();
+        assertThat(tombstones(userId)).as("after only the phone moved past it").isEqualTo(1);
+
+        SyncResponseDto tabletDelta = syncService.sync(userId, "tablet", tablet, PAGE_SIZE);
+        assertThat(tabletDelta.getDeletedTransactionIds()).as("tablet still receives the tombstone")
+                .containsExactly(deletedId);
+        syncService.compact();
+        assertThat(tombstones(userId)).as("while the tablet holds the delete unacknowledged").isEqualTo(1);
+
+        syncService.sync(userId, "tablet", tabletDelta.getCursor(), PAGE_SIZE);
+        syncService.compact();
+        assertThat(tombstones(userId)).as("after every device moved past it").isZero();
+    }
+
+    @Test
+    void cursorOlderThanTheDeviceAcknowledgedGetsFullSync() {
+        Long userId = createUser();
+        Long categoryId = createCategory(userId, "Food", "EXPENSE");
+        Long deletedId = transactionService.createTransaction(userId, transaction("Lunch", categoryId)).getId();
+        String stale = last(drain(userId, "phone", null)).getCursor();
+        transactionService.deleteTransaction(userId, deletedId);
+        transactionService.createTransaction(userId, transaction("Dinner", categoryId));
+        String current = syncService.sync(userId, "phone", stale, PAGE_SIZE).getCursor();
+        syncService.sync(userId, "phone", current, PAGE_SIZE);
+        syncService.compact();
+
+        // The tombstone for the delete is gone, so replaying the stale cursor must start over
+        SyncResponseDto replay = syncService.sync(userId, "phone", stale, PAGE_SIZE);
+        assertThat(replay.isFull()).isTrue();
+        assertThat(replay.getTransactions()).extracting(TransactionDto::getTitle).containsExactly("Dinner");
+    }
+
+    private List<SyncResponseDto> drain(Long userId, String deviceId, String cursor) {
+        List<SyncResponseDto> pages = new ArrayList<>();
+        SyncResponseDto page;
+        do {
+            page = syncService.sync(userId, deviceId, cursor, PAGE_SIZE);
+            pages.add(page);
+            cursor = page.getCursor();
+        } while (page.isHasMore());
+        return pages;
+    }
+
+    private int tombstones(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sync_tombstones WHERE user_id = ?",
+                Integer.class, userId);
+    }
+
+    private static SyncResponseDto last(List<SyncResponseDto> pages) {
+        return pages.get(pages.size() - 1);
+    }
+
+    private static TransactionDto transaction(String title, Long categoryId) {
+        return TransactionDto.builder()
+                .title(title)
+                .amount(new BigDecimal("12.50"))
+                .type("EXPENSE")
+                .categoryId(categoryId)
+                .transactionDate(LocalDate.of(2025, 3, 1))
+                .build();
+    }
+}
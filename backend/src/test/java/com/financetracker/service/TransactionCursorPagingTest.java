@@ -0,0 +1,151 @@
+package com.financetracker.service;
+
+import com.financetracker.IntegrationTest;
+import com.financetracker.dto.CursorPageDto;
+import com.financetracker.dto.TransactionDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Keyset pages walk the whole (transactionDate DESC, id DESC) order: rows sharing a date are
+ * split across pages by id, with nothing repeated or skipped however deep the walk goes. A
+ * category filter walks the same order restricted to the user's rows in those categories.
+ */
+class TransactionCursorPagingTest extends IntegrationTest {
+
+    private static final int ROWS = 2_000;
+    // Few distinct dates, so most page boundaries fall inside a run of equal dates
+    private static final int DISTINCT_DATES = 9;
+    private static final int PAGE_SIZE = 7;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pagesThroughEqualDatesWithoutDuplicates() {
+        Long userId = createUser();
+        Long categoryId = createCategory(userId, "Food", "EXPENSE");
+        Long firstId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1000000 FROM transactions", Long.class);
+        jdbcTemplate.update("INSERT INTO transactions (id, title, amount, type, category_id, user_id, " +
+                        "transaction_date, change_version, created_at, updated_at) " +
+                        "SELECT ? + X, 'Row ' || X, 1.00, 'EXPENSE', ?, ?, " +
+                        "DATEADD('HOUR', MOD(X * 7, ?) * 12, TIMESTAMP '2025-01-01 00:00:00'), 1, " +
+                        "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)",
+                firstId, categoryId, userId, DISTINCT_DATES, ROWS);
+        List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM transactions WHERE user_id = ? " +
+                "ORDER BY transaction_date DESC, id DESC", Long.class, userId);
+
+        List<TransactionDto> walked = new ArrayList<>();
+        int pages = walk(userId, null, walked);
+
+        assertThat(pages).isEqualTo((ROWS + PAGE_SIZE - 1) / PAGE_SIZE);
+        assertWalkedInOrder(walked, expected);
+    }
+
+    @Test
+    void categoryFilterPagesOnlyThroughTheChosenCategories() {
+        Long userId = createUser();
+        List<Long> categories = List.of(
+                createCategory(userId, "Food", "EXPENSE"),
+                createCategory(userId, "Rent", "EXPENSE"),
+                createCategory(userId, "Travel", "EXPENSE"),
+                createCategory(userId, "Salary", "INCOME"));
+        Long otherUserId = createUser();
+        Long otherCategoryId = createCategory(otherUserId, "Food", "EXPENSE");
+        Long firstId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1000000 FROM transactions", Long.class);
+        // Categories interleave by id, so every run of equal dates mixes filtered and unfiltered rows
+        jdbcTemplate.update("INSERT INTO transactions (id, title, amount, type, category_id, user_id, " +
+                        "transaction_date, change_version, created_at, updated_at) " +
+                        "SELECT ? + X, 'Row ' || X, 1.00, 'EXPENSE', " +
+                        "CASE MOD(X, 4) WHEN 0 THEN ? WHEN 1 THEN ? WHEN 2 THEN ? ELSE ? END, ?, " +
+                        "DATEADD('HOUR', MOD(X * 7, ?) * 12, TIMESTAMP '2025-01-01 00:00:00'), 1, " +
+                        "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)",
+                firstId, categories.get(0), categories.get(1), categories.get(2), categories.get(3), userId,
+                DISTINCT_DATES, ROWS);
+        jdbcTemplate.update("INSERT INTO transactions (id, title, amount, type, category_id, user_id, " +
+                        "transaction_date, change_version, created_at, updated_at) " +
+                        "SELECT ? + X, 'Other ' || X, 1.00, 'EXPENSE', ?, ?, TIMESTAMP '2025-01-02 00:00:00', 1, " +
+                        "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, 100)",
+                firstId + ROWS, otherCategoryId, otherUserId);
+        List<Long> filter = List.of(categories.get(0), categories.get(2), otherCategoryId);
+        List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM transactions WHERE user_id = ? " +
+                "AND category_id IN (?, ?) ORDER BY transaction_date DESC, id DESC", Long.class,
+                userId, categories.get(0), categories.get(2));
+
+        List<TransactionDto> walked = new ArrayList<>();
+        int pages = walk(userId, filter, walked);
+
+        assertThat(expected).hasSize(ROWS / 2);
+        assertThat(pages).isEqualTo((expected.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        assertThat(walked).extracting(TransactionDto::getCategoryId)
+                .containsOnly(categories.get(0), categories.get(2));
+        assertWalkedInOrder(walked, expected);
+    }
+
+    @Test
+    void categoryFilterIsBounded() {
+        Long userId = createUser();
+        List<Long> tooMany = LongStream.rangeClosed(1, 51).boxed().toList();
+
+        assertThatThrownBy(() -> transactionService.getUserTransactionsAfter(userId, null, PAGE_SIZE, tooMany))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("At most 50 categories can be filtered on");
+    }
+
+    /**
+     * Follows next cursors from the first page to the last, collecting the rows; returns the page count
+     */
+    private int walk(Long userId, List<Long> categoryIds, List<TransactionDto> walked) {
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDto<TransactionDto> page = transactionService.getUserTransactionsAfter(
+                    userId, cursor, PAGE_SIZE, categoryIds);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            for (TransactionDto row : page.getItems()) {
+                assertThat(seen.add(row.getId())).as("transaction %d returned twice", row.getId()).isTrue();
+                walked.add(row);
+            }
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        return pages;
+    }
+
+    private static void assertWalkedInOrder(List<TransactionDto> walked, List<Long> expected) {
+        assertThat(walked).extracting(TransactionDto::getId).containsExactlyElementsOf(expected);
+        for (int i = 1; i < walked.size(); i++) {
+            TransactionDto previous = walked.get(i - 1);
+            TransactionDto current = walked.get(i);
+            int byDate = current.getTransactionDateTime().compareTo(previous.getTransactionDateTime());
+            assertThat(byDate < 0 || byDate == 0 && current.getId() < previous.getId())
+                    .as("row %d follows row %d", current.getId(), previous.getId())
+                    .isTrue();
+        }
+    }
+
+    @Test
+    void cursorRoundTripsAndRejectsGarbage() {
+        TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2025, 3, 1, 12, 30), 42L);
+
+        assertThat(TransactionCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThatThrownBy(() -> TransactionCursor.decode("not a cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+}
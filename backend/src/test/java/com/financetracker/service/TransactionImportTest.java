@@ -0,0 +1,101 @@
+package com.financetracker.service;
+
+import com.financetracker.IntegrationTest;
+import com.financetracker.dto.ImportResultDto;
+import com.financetracker.dto.ImportRowErrorDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement import rejects rows the amount column cannot hold, one row at a time, and keeps its
+ * batched insert throughput on a large file
+ */
+class TransactionImportTest extends IntegrationTest {
+
+    private static final int ROWS = 100_000;
+    private static final int WARM_UP_ROWS = 50_000;
+    // Half the ~15k rows/s this test measures on one core against the shared H2 database
+    private static final double MIN_ROWS_PER_SECOND = 7_500;
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rejectsAmountsTooLargeForTheColumn() throws Exception {
+        Long userId = createUser();
+        createCategory(userId, "Food", "EXPENSE");
+        String csv = "date,title,amount,category\n" +
+                "2025-03-01,Fits,-9999999999999.99,Food\n" +
+                "2025-03-02,Too large,-10000000000000.00,Food\n" +
+                "2025-03-03,Small,-0.05,Food\n";
+
+        ImportResultDto result = importService.importStatement(userId, csvFile(csv), null, null);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(ImportRowErrorDto::getLine).containsExactly(3L);
+        assertThat(countRows(userId)).isEqualTo(2);
+    }
+
+    @Test
+    void importsLargeStatementInBatches() throws Exception {
+        // The first imports in a fresh JVM run interpreted; warm the path up on another user
+        MockMultipartFile warmUp = statement(WARM_UP_ROWS);
+        for (int i = 0; i < 3; i++) {
+            importService.importStatement(createStatementUser(), warmUp, null, null);
+        }
+        Long userId = createStatementUser();
+        MockMultipartFile file = statement(ROWS);
+
+        long begin = System.nanoTime();
+        ImportResultDto result = importService.importStatement(userId, file, null, null);
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        assertThat(result.getImported()).isEqualTo(ROWS);
+        assertThat(result.getFailed()).isZero();
+        assertThat(countRows(userId)).isEqualTo(ROWS);
+        double rate = ROWS / seconds;
+        System.out.printf("Imported %d rows in %.2f s (%.0f rows/s)%n", ROWS, seconds, rate);
+        assertThat(rate).as("rows per second").isGreaterThan(MIN_ROWS_PER_SECOND);
+    }
+
+    private Long createStatementUser() {
+        Long userId = createUser();
+        createCategory(userId, "Food", "EXPENSE");
+        createCategory(userId, "Salary", "INCOME");
+        return userId;
+    }
+
+    /**
+     * A CSV statement spread over two years: mostly expenses, with every tenth row a salary credit
+     */
+    private static MockMultipartFile statement(int rows) {
+        StringBuilder csv = new StringBuilder("date,title,description,amount,category\n");
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            boolean income = i % 10 == 0;
+            csv.append(start.plusDays(i % 730)).append(",Payee ").append(i).append(",Row ").append(i).append(',')
+                    .append(income ? "2500.00" : "-" + (i % 5000) + "." + (10 + i % 90)).append(',')
+                    .append(income ? "Salary" : "Food").append('\n');
+        }
+        return csvFile(csv.toString());
+    }
+
+    private long countRows(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE user_id = ?", Long.class, userId);
+    }
+
+    private static MockMultipartFile csvFile(String content) {
+        return new MockMultipartFile("file", "statement.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,134 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.CategoryDto;
+import com.financetracker.dto.CursorPageDto;
+import com.financetracker.dto.TransactionDto;
+import com.financetracker.entity.User;
+import com.financetracker.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Transaction list and range reads run a fixed number of statements per page, whatever the page
+ * size, and never load Transaction or Category entities
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-count-test",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "app.forecast.snapshot-file=target/query-count-test-forecast.bin"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionQueryCountTest {
+
+    private static final int TRANSACTIONS = 120;
+    private static final int CATEGORIES = 6;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long userId;
+    private final List<Long> categoryIds = new ArrayList<>();
+
+    @BeforeAll
+    void createTransactions() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userId = userRepository.save(User.builder()
+                .email("queries@example.com")
+                .password("unused")
+                .firstName("Query")
+                .lastName("Test")
+                .build()).getId();
+        for (int i = 0; i < CATEGORIES; i++) {
+            categoryIds.add(categoryService.createCategory(userId, CategoryDto.builder()
+                    .name("Category " + i)
+                    .type("EXPENSE")
+                    .build()).getId());
+        }
+        // Rows cycle through the categories so every page references several of them
+        LocalDate date = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            transactionService.createTransaction(userId, TransactionDto.builder()
+                    .title("Transaction " + i)
+                    .amount(BigDecimal.valueOf(10 + i))
+                    .type("EXPENSE")
+                    .categoryId(categoryIds.get(i % CATEGORIES))
+                    .transactionDate(date.plusDays(i))
+                    .build());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    void offsetPageRunsQueryAndCount(int size) {
+        statistics.clear();
+        assertThat(transactionService.getUserTransactions(userId, 1, size).getContent()).hasSize(size);
+        assertStatements(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    void keysetPagesRunOneQueryEach(int size) {
+        statistics.clear();
+        CursorPageDto<TransactionDto> first = transactionService.getUserTransactionsAfter(userId, null, size, null);
+        assertThat(first.getItems()).hasSize(size);
+        assertStatements(1);
+
+        statistics.clear();
+        CursorPageDto<TransactionDto> second = transactionService.getUserTransactionsAfter(
+                userId, first.getNextCursor(), size, null);
+        assertThat(second.getItems()).hasSize(size);
+        assertStatements(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    void categoryFilteredPageRunsOneQuery(int size) {
+        statistics.clear();
+        CursorPageDto<TransactionDto> page = transactionService.getUserTransactionsAfter(
+                userId, null, size, categoryIds.subList(0, 3));
+        assertThat(page.getItems()).hasSize(Math.min(size, TRANSACTIONS / 2));
+        assertStatements(1);
+    }
+
+    @Test
+    void dateRangeRunsOneQuery() {
+        statistics.clear();
+        List<TransactionDto> rows = transactionService.getTransactionsByDateRange(userId,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+        assertThat(rows).hasSize(TRANSACTIONS);
+        assertThat(rows).allSatisfy(row -> assertThat(row.getCategoryName()).startsWith("Category "));
+        assertStatements(1);
+    }
+
+    private void assertStatements(long expected) {
+        assertThat(statistics.getPrepareStatementCount()).as("statements").isEqualTo(expected);
+        assertThat(statistics.getEntityLoadCount()).as("entities loaded").isZero();
+        assertThat(statistics.getEntityFetchCount()).as("lazy entity fetches").isZero();
+    }
+}
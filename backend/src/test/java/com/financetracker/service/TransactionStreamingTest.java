@@ -0,0 +1,119 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.CategoryDto;
+import com.financetracker.entity.User;
+import com.financetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams a million-row range as NDJSON and checks that heap use stays flat while it runs.
+ * The database lives in a file so its rows do not count against the heap being measured.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/h2/streaming-test",
+        "app.forecast.snapshot-file=target/streaming-test-forecast.bin"
+})
+class TransactionStreamingTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int SAMPLE_INTERVAL = 100_000;
+    // A million buffered DTOs need several hundred megabytes; a cursor needs a few fetch windows
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+    private static final int FLUSH_INTERVAL = 500;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void streamsMillionRowsInConstantHeap() throws Exception {
+        User user = userRepository.save(User.builder()
+                .email("stream@example.com")
+                .password("unused")
+                .firstName("Stream")
+                .lastName("Test")
+                .build());
+        CategoryDto category = categoryService.createCategory(user.getId(), CategoryDto.builder()
+                .name("Bulk")
+                .type("EXPENSE")
+                .build());
+
+        // One row every 30 seconds through 2025, inserted by the database itself
+        jdbcTemplate.update("INSERT INTO transactions (id, title, amount, type, category_id, user_id, " +
+                        "transaction_date, change_version, created_at, updated_at) " +
+                        "SELECT 10000000 + X, 'Row ' || X, 12.34, 'EXPENSE', ?, ?, " +
+                        "DATEADD('SECOND', X * 30, TIMESTAMP '2025-01-01 00:00:00'), 1, " +
+                        "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)",
+                category.getId(), user.getId(), ROWS);
+
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+        long written = transactionService.streamTransactionsByDateRange(user.getId(),
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), out);
+
+        assertThat(written).isEqualTo(ROWS);
+        assertThat(out.lines).isEqualTo(ROWS);
+        assertThat(out.maxUsed - out.firstUsed)
+                .as("heap growth while streaming")
+                .isLessThan(MAX_HEAP_GROWTH);
+        assertThat(out.flushes)
+                .as("flushes while streaming")
+                .isLessThanOrEqualTo(ROWS / FLUSH_INTERVAL + 1);
+    }
+
+    /**
+     * Discards the stream, counting lines and flushes and sampling used heap after a collection
+     * every SAMPLE_INTERVAL lines
+     */
+    private static final class HeapSamplingOutputStream extends OutputStream {
+
+        long lines;
+        long flushes;
+        long firstUsed = -1;
+        long maxUsed;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % SAMPLE_INTERVAL == 0) {
+                sample();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        private void sample() {
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            long used = runtime.totalMemory() - runtime.freeMemory();
+            if (firstUsed < 0) {
+                firstUsed = used;
+            }
+            maxUsed = Math.max(maxUsed, used);
+        }
+    }
+}
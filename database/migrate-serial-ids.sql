@@ -0,0 +1,52 @@
+-- Moves a database created with SERIAL ids onto the pooled-lo sequences in schema.sql.
+-- Run once, with the application stopped, before starting a version that uses *_seq:
+--   psql -v ON_ERROR_STOP=1 -f database/migrate-serial-ids.sql finance_tracker
+-- Each id column loses its SERIAL default and becomes BIGINT, and its sequence is created
+-- (or moved) so that the first id Hibernate hands out is MAX(id) + 1. Tables that do not
+-- exist yet are skipped; schema.sql creates them with the right sequence.
+
+BEGIN;
+
+DO $$
+DECLARE
+    t TEXT;
+    serial_seq TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['users', 'categories', 'transactions', 'budgets', 'refresh_tokens',
+            'transaction_monthly_rollups', 'sync_tombstones', 'sync_devices', 'batch_jobs',
+            'batch_job_partitions']
+    LOOP
+        IF to_regclass(t) IS NULL THEN
+            CONTINUE;
+        END IF;
+
+        serial_seq := pg_get_serial_sequence(t, 'id');
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', t);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id TYPE BIGINT', t);
+        IF serial_seq IS NOT NULL THEN
+            EXECUTE format('DROP SEQUENCE %s', serial_seq);
+        END IF;
+
+        -- INCREMENT BY must match the entities' allocationSize
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY 50', t || '_seq');
+        EXECUTE format('SELECT setval(%L, (SELECT COALESCE(MAX(id), 0) + 1 FROM %I), false)', t || '_seq', t);
+    END LOOP;
+END $$;
+
+-- Foreign keys created as INTEGER alongside the SERIAL ids
+DO $$
+DECLARE
+    col RECORD;
+BEGIN
+    FOR col IN
+        SELECT c.table_name, c.column_name
+        FROM information_schema.columns c
+        WHERE c.table_schema = current_schema()
+          AND c.data_type = 'integer'
+          AND c.column_name IN ('user_id', 'category_id', 'entity_id', 'job_id', 'from_user_id', 'to_user_id')
+    LOOP
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN %I TYPE BIGINT', col.table_name, col.column_name);
+    END LOOP;
+END $$;
+
+COMMIT;
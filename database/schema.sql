@@ -1,59 +1,162 @@
 -- Database Schema for Finance Tracker Application
 
+-- Id sequences. Hibernate allocates ids in blocks of 50 (pooled-lo), so INCREMENT BY must
+-- match the entities' allocationSize. Databases created with SERIAL ids are moved onto these
+-- sequences by migrate-serial-ids.sql.
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS categories_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS budgets_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS refresh_tokens_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS transaction_monthly_rollups_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sync_tombstones_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sync_devices_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS batch_jobs_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS batch_job_partitions_seq START WITH 1 INCREMENT BY 50;
+
 -- Create users table
 CREATE TABLE IF NOT EXISTS users (
-    id SERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     email VARCHAR(255) UNIQUE NOT NULL,
     password VARCHAR(255) NOT NULL,
     first_name VARCHAR(100) NOT NULL,
     last_name VARCHAR(100) NOT NULL,
     currency VARCHAR(10) DEFAULT 'USD',
     active BOOLEAN DEFAULT TRUE,
+    data_version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
 -- Create categories table
 CREATE TABLE IF NOT EXISTS categories (
-    id SERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     name VARCHAR(100) NOT NULL,
     description TEXT,
     type VARCHAR(50) NOT NULL CHECK (type IN ('EXPENSE', 'INCOME')),
     color VARCHAR(7) DEFAULT '#000000',
-    user_id INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    change_version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
 -- Create transactions table
 CREATE TABLE IF NOT EXISTS transactions (
-    id SERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     title VARCHAR(255) NOT NULL,
     description TEXT,
     amount DECIMAL(15, 2) NOT NULL,
     type VARCHAR(50) NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
-    category_id INTEGER NOT NULL REFERENCES categories(id) ON DELETE CASCADE,
-    user_id INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    category_id BIGINT NOT NULL REFERENCES categories(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     transaction_date TIMESTAMP NOT NULL,
+    change_version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
 -- Create budgets table
 CREATE TABLE IF NOT EXISTS budgets (
-    id SERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
-    "limit" DECIMAL(15, 2) NOT NULL,
-    category_id INTEGER REFERENCES categories(id) ON DELETE SET NULL,
-    user_id INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    budget_limit DECIMAL(15, 2) NOT NULL,
+    category_id BIGINT REFERENCES categories(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     period VARCHAR(50) NOT NULL CHECK (period IN ('DAILY', 'WEEKLY', 'MONTHLY', 'YEARLY')),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Create refresh tokens table (only token hashes are stored)
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id BIGINT PRIMARY KEY,
+    token_hash VARCHAR(64) UNIQUE NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    expires_at TIMESTAMP NOT NULL,
+    session_expires_at TIMESTAMP NOT NULL,
+    rotated_at TIMESTAMP,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create revoked tokens table (kept until the token's natural expiry)
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti VARCHAR(36) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create monthly rollups table (per user, month, category and type)
+CREATE TABLE IF NOT EXISTS transaction_monthly_rollups (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    year_month INTEGER NOT NULL,
+    category_id BIGINT NOT NULL,
+    type VARCHAR(50) NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    total_amount DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_rollup_bucket UNIQUE (user_id, year_month, category_id, type)
+);
+
+-- Create sync tombstones table (deleted rows, kept until every device has synced past them)
+CREATE TABLE IF NOT EXISTS sync_tombstones (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    entity_type VARCHAR(50) NOT NULL CHECK (entity_type IN ('TRANSACTION', 'CATEGORY')),
+    entity_id BIGINT NOT NULL,
+    change_version BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+-- Create sync devices table (data version each syncing client has acknowledged)
+CREATE TABLE IF NOT EXISTS sync_devices (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    device_id VARCHAR(100) NOT NULL,
+    last_version BIGINT NOT NULL,
+    last_seen_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_sync_devices_user_device UNIQUE (user_id, device_id)
+);
+
+-- Create batch jobs table (per-user recomputes over every user)
+CREATE TABLE IF NOT EXISTS batch_jobs (
+    id BIGINT PRIMARY KEY,
+    task VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED')),
+    total_users BIGINT NOT NULL,
+    partitions INTEGER NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
+
+-- Create batch job partitions table (user id ranges; a finished range is the job's checkpoint)
+CREATE TABLE IF NOT EXISTS batch_job_partitions (
+    id BIGINT PRIMARY KEY,
+    job_id BIGINT NOT NULL REFERENCES batch_jobs(id) ON DELETE CASCADE,
+    partition_index INTEGER NOT NULL,
+    from_user_id BIGINT NOT NULL,
+    to_user_id BIGINT NOT NULL,
+    done BOOLEAN NOT NULL DEFAULT FALSE,
+    users_processed BIGINT NOT NULL DEFAULT 0,
+    users_failed BIGINT NOT NULL DEFAULT 0,
+    corrections BIGINT NOT NULL DEFAULT 0,
+    finished_at TIMESTAMP,
+    CONSTRAINT uk_batch_job_partitions_job_index UNIQUE (job_id, partition_index)
+);
+
 -- Create indexes for better query performance
 CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
 CREATE INDEX IF NOT EXISTS idx_categories_user_id ON categories(user_id);
 CREATE INDEX IF NOT EXISTS idx_transactions_user_id ON transactions(user_id);
 CREATE INDEX IF NOT EXISTS idx_transactions_category_id ON transactions(category_id);
 CREATE INDEX IF NOT EXISTS idx_transactions_date ON transactions(transaction_date);
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date_id ON transactions(user_id, transaction_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_transactions_user_category_date ON transactions(user_id, category_id, transaction_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_transactions_user_change ON transactions(user_id, change_version, id);
+CREATE INDEX IF NOT EXISTS idx_categories_user_change ON categories(user_id, change_version);
+CREATE INDEX IF NOT EXISTS idx_sync_tombstones_user_change ON sync_tombstones(user_id, change_version);
 CREATE INDEX IF NOT EXISTS idx_budgets_user_id ON budgets(user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family ON refresh_tokens(family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
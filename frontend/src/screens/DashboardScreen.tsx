@@ -44,24 +44,18 @@ export const DashboardScreen: React.FC<Props> = ({ navigation }) => {
     setLoading(true);
     try {
       const token = await AsyncStorage.getItem("authToken");
-      const response = await axios.get("/transactions?page=0&size=10", {
-        headers: { Authorization: `Bearer ${token}` },
-      });
+      const headers = { Authorization: `Bearer ${token}` };
+      const [response, summary] = await Promise.all([
+        axios.get("/transactions?page=0&size=10", { headers }),
+        axios.get("/transactions/summary", { headers }),
+      ]);
 
       const txns = response.data.content || [];
       setTransactions(txns);
 
-      // Calculate totals
-      const income = txns
-        .filter((t: Transaction) => t.type === "INCOME")
-        .reduce((sum: number, t: Transaction) => sum + t.amount, 0);
-
-      const expense = txns
-        .filter((t: Transaction) => t.type === "EXPENSE")
-        .reduce((sum: number, t: Transaction) => sum + t.amount, 0);
-
-      setTotalIncome(income);
-      setTotalExpense(expense);
+      // Totals are aggregated on the server over the full history
+      setTotalIncome(Number(summary.data.data?.income ?? 0));
+      setTotalExpense(Number(summary.data.data?.expense ?? 0));
     } catch (error) {
       console.error("Failed to fetch transactions:", error);
     } finally {
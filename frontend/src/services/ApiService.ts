@@ -1,8 +1,14 @@
-import axios, { AxiosInstance, AxiosError } from "axios";
+import axios, {
+  AxiosInstance,
+  AxiosError,
+  InternalAxiosRequestConfig,
+} from "axios";
 
 const API_BASE_URL = "http://localhost:8080/api";
 
 let authToken: string | null = null;
+let refreshToken: string | null = null;
+let refreshInFlight: Promise<string | null> | null = null;
 
 const apiClient: AxiosInstance = axios.create({
   baseURL: API_BASE_URL,
@@ -25,14 +31,52 @@ apiClient.interceptors.request.use(
   }
 );
 
+const storeSession = (data: { token: string; refreshToken?: string }) => {
+  authToken = data.token;
+  refreshToken = data.refreshToken ?? null;
+};
+
+// Exchange the refresh token for a new pair; concurrent 401s share one call
+const refreshSession = (): Promise<string | null> => {
+  if (!refreshToken) {
+    return Promise.resolve(null);
+  }
+  if (!refreshInFlight) {
+    refreshInFlight = axios
+      .post(`${API_BASE_URL}/auth/refresh`, { refreshToken })
+      .then((response) => {
+        storeSession(response.data.data);
+        return authToken;
+      })
+      .catch(() => {
+        authToken = null;
+        refreshToken = null;
+        return null;
+      })
+      .finally(() => {
+        refreshInFlight = null;
+      });
+  }
+  return refreshInFlight;
+};
+
 // Handle responses
 apiClient.interceptors.response.use(
   (response) => response,
-  (error: AxiosError) => {
+  async (error: AxiosError) => {
+    const original = error.config as
+      | (InternalAxiosRequestConfig & { _retried?: boolean })
+      | undefined;
+    if (error.response?.status === 401 && original && !original._retried) {
+      original._retried = true;
+      const token = await refreshSession();
+      if (token) {
+        original.headers.Authorization = `Bearer ${token}`;
+        return apiClient(original);
+      }
+    }
     if (error.response?.status === 401) {
-      // Handle unauthorized
       authToken = null;
-      // Emit event to logout or refresh token
     }
     return Promise.reject(error);
   }
@@ -41,7 +85,7 @@ apiClient.interceptors.response.use(
 export const AuthService = {
   login: async (email: string, password: string) => {
     const response = await apiClient.post("/auth/login", { email, password });
-    authToken = response.data.token;
+    storeSession(response.data.data);
     return response.data;
   },
 
@@ -61,14 +105,26 @@ export const AuthService = {
     return response.data;
   },
 
-  setToken: (token: string) => {
+  setToken: (token: string, refresh?: string) => {
     authToken = token;
+    if (refresh !== undefined) {
+      refreshToken = refresh;
+    }
   },
 
   getToken: () => authToken,
 
-  logout: () => {
-    authToken = null;
+  getRefreshToken: () => refreshToken,
+
+  logout: async () => {
+    try {
+      if (authToken) {
+        await apiClient.post("/auth/logout", { refreshToken });
+      }
+    } finally {
+      authToken = null;
+      refreshToken = null;
+    }
   },
 };
 
@@ -77,6 +133,17 @@ export const TransactionService = {
     return apiClient.get(`/transactions?page=${page}&size=${size}`);
   },
 
+  getTransactionsAfter: async (
+    cursor: string | null = null,
+    size: number = 20,
+    categoryIds: number[] = []
+  ) => {
+    return apiClient.get("/transactions", {
+      params: { cursor: cursor ?? "", size, categoryId: categoryIds },
+      paramsSerializer: { indexes: null },
+    });
+  },
+
   getTransactionById: async (id: number) => {
     return apiClient.get(`/transactions/${id}`);
   },
@@ -98,6 +165,30 @@ export const TransactionService = {
       `/transactions/range?start=${startDate}&end=${endDate}`
     );
   },
+
+  getSummary: async (
+    startDate?: string,
+    endDate?: string,
+    categoryIds: number[] = []
+  ) => {
+    const params = new URLSearchParams();
+    if (startDate) params.append("start", startDate);
+    if (endDate) params.append("end", endDate);
+    categoryIds.forEach((id) => params.append("categoryId", String(id)));
+    return apiClient.get(`/transactions/summary?${params.toString()}`);
+  },
+
+  getTimeSeries: async (
+    granularity: "day" | "week" | "month" = "day",
+    startDate?: string,
+    endDate?: string
+  ) => {
+    const params = new URLSearchParams({ granularity });
+    if (startDate) params.append("start", startDate);
+    if (endDate) params.append("end", endDate);
+    params.append("tz", Intl.DateTimeFormat().resolvedOptions().timeZone);
+    return apiClient.get(`/transactions/timeseries?${params.toString()}`);
+  },
 };
 
 export const CategoryService = {
@@ -0,0 +1,89 @@
+package com.financetracker.config;
+
+import com.financetracker.security.AuthenticatedUser;
+import com.financetracker.service.DataVersionService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conditional GETs keyed on the user's data version. A request whose If-None-Match carries
+ * the current version is answered 304 before the controller runs any query.
+ */
+@Component
+public class DataVersionInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @PostConstruct
+    public void registerMetrics() {
+        FunctionCounter.builder("http.etag.hits", hits, LongAdder::sum)
+                .description("Conditional GETs answered 304 from the data version")
+                .register(meterRegistry);
+        FunctionCounter.builder("http.etag.misses", misses, LongAdder::sum)
+                .description("Versioned GETs that had to be served in full")
+                .register(meterRegistry);
+        Gauge.builder("http.etag.hit.ratio", this, DataVersionInterceptor::hitRatio)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            return true;
+        }
+
+        // The user id is part of the tag so a shared client cache never matches another user's version
+        String etag = "W/\"" + user.id() + "-" + dataVersionService.current(user.id()) + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            hits.increment();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        misses.increment();
+        return true;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || ("W/" + tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+}
@@ -0,0 +1,25 @@
+package com.financetracker.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * MVC configuration for request interceptors
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private DataVersionInterceptor dataVersionInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // The export endpoint sets its own ETag from a fingerprint of the exported rows; the time
+        // series defaults its window to today, which the data version does not track
+        registry.addInterceptor(dataVersionInterceptor)
+                .addPathPatterns("/transactions", "/transactions/**", "/categories", "/categories/**", "/users/profile")
+                .excludePathPatterns("/transactions/export", "/transactions/timeseries");
+    }
+}
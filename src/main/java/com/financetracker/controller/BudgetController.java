@@ -0,0 +1,89 @@
+package com.financetracker.controller;
+
+import com.financetracker.dto.ApiResponseDto;
+import com.financetracker.dto.BudgetDto;
+import com.financetracker.dto.BudgetForecastDto;
+import com.financetracker.dto.BudgetStatusDto;
+import com.financetracker.security.AuthenticatedUser;
+import com.financetracker.service.BudgetService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Budget controller for managing spending budgets and their utilization
+ */
+@RestController
+@RequestMapping("/budgets")
+@Slf4j
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class BudgetController {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponseDto<BudgetDto>> createBudget(
+            @RequestBody BudgetDto request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        BudgetDto budget = budgetService.createBudget(user.id(), request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponseDto.success(budget, "Budget created successfully"));
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponseDto<List<BudgetDto>>> getBudgets(@AuthenticationPrincipal AuthenticatedUser user) {
+        List<BudgetDto> budgets = budgetService.getUserBudgets(user.id());
+        return ResponseEntity.ok(ApiResponseDto.success(budgets, "Budgets retrieved successfully"));
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<ApiResponseDto<List<BudgetStatusDto>>> getStatuses(@AuthenticationPrincipal AuthenticatedUser user) {
+        List<BudgetStatusDto> statuses = budgetService.getStatuses(user.id());
+        return ResponseEntity.ok(ApiResponseDto.success(statuses, "Budget status retrieved successfully"));
+    }
+
+    @GetMapping("/{id}/status")
+    public ResponseEntity<ApiResponseDto<BudgetStatusDto>> getStatus(
+            @PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        BudgetStatusDto status = budgetService.getStatus(user.id(), id);
+        return ResponseEntity.ok(ApiResponseDto.success(status, "Budget status retrieved successfully"));
+    }
+
+    @GetMapping("/forecast")
+    public ResponseEntity<ApiResponseDto<List<BudgetForecastDto>>> getForecasts(@AuthenticationPrincipal AuthenticatedUser user) {
+        List<BudgetForecastDto> forecasts = budgetService.getForecasts(user.id());
+        return ResponseEntity.ok(ApiResponseDto.success(forecasts, "Budget forecasts retrieved successfully"));
+    }
+
+    @GetMapping("/{id}/forecast")
+    public ResponseEntity<ApiResponseDto<BudgetForecastDto>> getForecast(
+            @PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        BudgetForecastDto forecast = budgetService.getForecast(user.id(), id);
+        return ResponseEntity.ok(ApiResponseDto.success(forecast, "Budget forecast retrieved successfully"));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponseDto<BudgetDto>> updateBudget(
+            @PathVariable Long id,
+            @RequestBody BudgetDto request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        BudgetDto budget = budgetService.updateBudget(user.id(), id, request);
+        return ResponseEntity.ok(ApiResponseDto.success(budget, "Budget updated successfully"));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponseDto<Void>> deleteBudget(
+            @PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        budgetService.deleteBudget(user.id(), id);
+        return ResponseEntity.ok(ApiResponseDto.success(null, "Budget deleted successfully"));
+    }
+}
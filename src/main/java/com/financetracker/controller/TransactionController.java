@@ -1,17 +1,37 @@
 package com.financetracker.controller;
 
 import com.financetracker.dto.ApiResponseDto;
+import com.financetracker.dto.CursorPageDto;
+import com.financetracker.dto.ImportResultDto;
+import com.financetracker.dto.SearchResultDto;
+import com.financetracker.dto.TimeSeriesDto;
+import com.financetracker.dto.TransactionBatchOperationDto;
+import com.financetracker.dto.TransactionBatchResultDto;
 import com.financetracker.dto.TransactionDto;
+import com.financetracker.dto.TransactionSummaryDto;
+import com.financetracker.security.AuthenticatedUser;
+import com.financetracker.service.TransactionExportService;
+import com.financetracker.service.TransactionImportService;
 import com.financetracker.service.TransactionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -26,46 +46,196 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private TransactionExportService exportService;
+
     @PostMapping
     public ResponseEntity<ApiResponseDto<TransactionDto>> createTransaction(
             @RequestBody TransactionDto request,
-            Authentication authentication) {
-        TransactionDto transaction = transactionService.createTransaction(authentication.getName(), request);
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        TransactionDto transaction = transactionService.createTransaction(user.id(), request);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponseDto.success(transaction, "Transaction created successfully"));
     }
 
+    /**
+     * Applies an array of mixed CREATE, UPDATE and DELETE operations in one database transaction
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponseDto<List<TransactionBatchResultDto>>> applyBatch(
+            @RequestBody List<TransactionBatchOperationDto> operations,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        List<TransactionBatchResultDto> results = transactionService.applyBatch(user.id(), operations);
+        return ResponseEntity.ok(ApiResponseDto.success(results, "Batch applied"));
+    }
+
+    /**
+     * Bulk import of a CSV or OFX bank statement; the format is taken from the file
+     * extension unless given explicitly
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponseDto<ImportResultDto>> importTransactions(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) TransactionImportService.Format format,
+            @RequestParam(required = false) String category,
+            @AuthenticationPrincipal AuthenticatedUser user) throws IOException {
+        ImportResultDto result = importService.importStatement(user.id(), file, format, category);
+        return ResponseEntity.ok(ApiResponseDto.success(result, "Transactions imported successfully"));
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponseDto<Page<TransactionDto>>> getTransactions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         Page<TransactionDto> transactions = transactionService.getUserTransactions(
-                authentication.getName(), page, size);
+                user.id(), page, size);
         return ResponseEntity.ok(ApiResponseDto.success(transactions, "Transactions retrieved successfully"));
     }
 
+    /**
+     * Cursor mode, selected by the presence of the cursor parameter (empty for the first page)
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ApiResponseDto<CursorPageDto<TransactionDto>>> getTransactionsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(name = "categoryId", required = false) List<Long> categoryIds,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        CursorPageDto<TransactionDto> transactions = transactionService.getUserTransactionsAfter(
+                user.id(), cursor, size, categoryIds);
+        return ResponseEntity.ok(ApiResponseDto.success(transactions, "Transactions retrieved successfully"));
+    }
+
+    /**
+     * Category filter without a cursor: returns the first keyset page for those categories
+     */
+    @GetMapping(params = {"categoryId", "!cursor"})
+    public ResponseEntity<ApiResponseDto<CursorPageDto<TransactionDto>>> getTransactionsByCategory(
+            @RequestParam(name = "categoryId") List<Long> categoryIds,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        CursorPageDto<TransactionDto> transactions = transactionService.getUserTransactionsAfter(
+                user.id(), null, size, categoryIds);
+        return ResponseEntity.ok(ApiResponseDto.success(transactions, "Transactions retrieved successfully"));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponseDto<SearchResultDto>> searchTransactions(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        SearchResultDto result = transactionService.searchTransactions(user.id(), query, limit);
+        return ResponseEntity.ok(ApiResponseDto.success(result, "Transactions retrieved successfully"));
+    }
+
     @GetMapping("/range")
     public ResponseEntity<ApiResponseDto<List<TransactionDto>>> getTransactionsByRange(
             @RequestParam LocalDate start,
             @RequestParam LocalDate end,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         List<TransactionDto> transactions = transactionService.getTransactionsByDateRange(
-                authentication.getName(), start, end);
+                user.id(), start, end);
         return ResponseEntity.ok(ApiResponseDto.success(transactions, "Transactions retrieved successfully"));
     }
 
+    /**
+     * Streaming variant of /range, selected with Accept: application/x-ndjson
+     */
+    @GetMapping(value = "/range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByRange(
+            @RequestParam LocalDate start,
+            @RequestParam LocalDate end,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        Long userId = user.id();
+        StreamingResponseBody body = out -> transactionService.streamTransactionsByDateRange(
+                userId, start, end, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Gzipped CSV export of one month or of a start/end range. Closed months are served from
+     * the export cache with an ETag; everything else is streamed from the database.
+     */
+    @GetMapping("/export")
+    public void exportTransactions(
+            @RequestParam(required = false) YearMonth month,
+            @RequestParam(required = false) LocalDate start,
+            @RequestParam(required = false) LocalDate end,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (month != null) {
+            start = month.atDay(1);
+            end = month.atEndOfMonth();
+        } else if (start == null || end == null) {
+            throw new IllegalArgumentException("Either month or both start and end are required");
+        } else if (end.isBefore(start)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        String filename = "transactions-" + (month != null ? month : start + "_" + end) + ".csv.gz";
+        response.setContentType("application/gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+
+        if (month != null && TransactionExportService.isClosed(month)) {
+            TransactionExportService.CachedExport export = exportService.getClosedMonth(user.id(), month);
+            if (new ServletWebRequest(request, response).checkNotModified("\"" + export.fingerprint() + "\"")) {
+                return;
+            }
+            exportService.send(export, request, response);
+            return;
+        }
+        exportService.writeGzip(user.id(), start, end, response.getOutputStream());
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponseDto<TransactionSummaryDto>> getSummary(
+            @RequestParam(required = false) LocalDate start,
+            @RequestParam(required = false) LocalDate end,
+            @RequestParam(name = "categoryId", required = false) List<Long> categoryIds,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        TransactionSummaryDto summary = transactionService.getSummary(user.id(), start, end, categoryIds);
+        return ResponseEntity.ok(ApiResponseDto.success(summary, "Summary retrieved successfully"));
+    }
+
+    /**
+     * Income and expense per day, week or month as parallel arrays, for charts
+     */
+    @GetMapping("/timeseries")
+    public ResponseEntity<ApiResponseDto<TimeSeriesDto>> getTimeSeries(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) LocalDate start,
+            @RequestParam(required = false) LocalDate end,
+            @RequestParam(required = false) String tz,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        TimeSeriesDto series = transactionService.getTimeSeries(user.id(), granularity, start, end, tz);
+        return ResponseEntity.ok(ApiResponseDto.success(series, "Time series retrieved successfully"));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponseDto<TransactionDto>> updateTransaction(
             @PathVariable Long id,
-            @RequestBody TransactionDto request) {
-        TransactionDto transaction = transactionService.updateTransaction(id, request);
+            @RequestBody TransactionDto request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        TransactionDto transaction = transactionService.updateTransaction(user.id(), id, request);
         return ResponseEntity.ok(ApiResponseDto.success(transaction, "Transaction updated successfully"));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<ApiResponseDto<Void>> deleteTransaction(@PathVariable Long id) {
-        transactionService.deleteTransaction(id);
+    public ResponseEntity<ApiResponseDto<Void>> deleteTransaction(
+            @PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        transactionService.deleteTransaction(user.id(), id);
         return ResponseEntity.ok(ApiResponseDto.success(null, "Transaction deleted successfully"));
     }
 }
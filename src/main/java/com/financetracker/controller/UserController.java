@@ -2,11 +2,12 @@ package com.financetracker.controller;
 
 import com.financetracker.dto.ApiResponseDto;
 import com.financetracker.dto.UserProfileDto;
+import com.financetracker.security.AuthenticatedUser;
 import com.financetracker.service.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -22,16 +23,16 @@ public class UserController {
     private UserService userService;
 
     @GetMapping("/profile")
-    public ResponseEntity<ApiResponseDto<UserProfileDto>> getProfile(Authentication authentication) {
-        UserProfileDto profile = userService.getUserProfile(authentication.getName());
+    public ResponseEntity<ApiResponseDto<UserProfileDto>> getProfile(@AuthenticationPrincipal AuthenticatedUser user) {
+        UserProfileDto profile = userService.getUserProfile(user.id());
         return ResponseEntity.ok(ApiResponseDto.success(profile, "Profile retrieved successfully"));
     }
 
     @PutMapping("/profile")
     public ResponseEntity<ApiResponseDto<UserProfileDto>> updateProfile(
             @RequestBody UserProfileDto request,
-            Authentication authentication) {
-        UserProfileDto profile = userService.updateProfile(authentication.getName(), request);
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        UserProfileDto profile = userService.updateProfile(user.id(), request);
         return ResponseEntity.ok(ApiResponseDto.success(profile, "Profile updated successfully"));
     }
 }
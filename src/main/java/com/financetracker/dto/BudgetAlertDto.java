@@ -0,0 +1,16 @@
+package com.financetracker.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+
+/**
+ * Pushed when a budget's utilization crosses an alert threshold, e.g. 0.8 or 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetAlertDto {
+    private BigDecimal threshold;
+    private BudgetStatusDto status;
+}
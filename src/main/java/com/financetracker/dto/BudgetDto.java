@@ -0,0 +1,19 @@
+package com.financetracker.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+
+/**
+ * Budget DTO; a budget without a category covers all expenses
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetDto {
+    private Long id;
+    private String name;
+    private BigDecimal budgetLimit;
+    private Long categoryId;
+    private String period;
+}
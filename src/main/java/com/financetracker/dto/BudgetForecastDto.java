@@ -0,0 +1,26 @@
+package com.financetracker.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projected spending against a budget at the end of its current period, with a 90% band
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetForecastDto {
+    private Long budgetId;
+    private String name;
+    private String period;
+    private Long categoryId;
+    private BigDecimal budgetLimit;
+    private BigDecimal spent;
+    private BigDecimal projected;
+    private BigDecimal projectedLow;
+    private BigDecimal projectedHigh;
+    private BigDecimal projectedUtilization;
+    private LocalDate periodEnd;
+}
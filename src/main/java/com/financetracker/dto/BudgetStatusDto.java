@@ -0,0 +1,25 @@
+package com.financetracker.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Spending against a budget in its current period; utilization is spent / budgetLimit
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetStatusDto {
+    private Long budgetId;
+    private String name;
+    private String period;
+    private Long categoryId;
+    private BigDecimal budgetLimit;
+    private BigDecimal spent;
+    private BigDecimal remaining;
+    private BigDecimal utilization;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+}
@@ -0,0 +1,17 @@
+package com.financetracker.dto;
+
+import lombok.*;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing; pass nextCursor back to fetch the following page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDto<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
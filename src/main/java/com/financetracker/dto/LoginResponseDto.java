@@ -11,6 +11,8 @@ import lombok.*;
 @Builder
 public class LoginResponseDto {
     private String token;
+    private String refreshToken;
+    private long expiresIn;
     private String email;
     private String firstName;
     private String lastName;
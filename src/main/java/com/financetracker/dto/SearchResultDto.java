@@ -0,0 +1,17 @@
+package com.financetracker.dto;
+
+import lombok.*;
+import java.util.List;
+
+/**
+ * Search matches, newest first. prefixTruncated means the last query word starts more terms
+ * than one search covers, so some matches may be missing; a longer word narrows it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchResultDto {
+    private List<TransactionDto> items;
+    private boolean prefixTruncated;
+}
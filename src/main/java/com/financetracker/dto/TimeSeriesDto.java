@@ -0,0 +1,19 @@
+package com.financetracker.dto;
+
+import lombok.*;
+import java.time.LocalDate;
+
+/**
+ * Income and expense per bucket as parallel arrays, one entry per bucket including empty ones.
+ * Amounts are in minor units (cents) so they stay exact as plain integers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeSeriesDto {
+    private String granularity;
+    private LocalDate[] bucketStart;
+    private long[] incomeCents;
+    private long[] expenseCents;
+}
@@ -0,0 +1,22 @@
+package com.financetracker.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Income, expense and balance totals for a user over an optional date range
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionSummaryDto {
+    private BigDecimal income;
+    private BigDecimal expense;
+    private BigDecimal balance;
+    private long incomeCount;
+    private long expenseCount;
+    private LocalDate start;
+    private LocalDate end;
+}
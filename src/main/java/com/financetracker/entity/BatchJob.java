@@ -0,0 +1,45 @@
+package com.financetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * One run of a per-user batch task over every user; progress is checkpointed in its partitions
+ */
+@Entity
+@Table(name = "batch_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "batch_jobs_seq")
+    @SequenceGenerator(name = "batch_jobs_seq", sequenceName = "batch_jobs_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String task;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(name = "total_users", nullable = false)
+    private Long totalUsers;
+
+    @Column(nullable = false)
+    private Integer partitions;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,51 @@
+package com.financetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * A range of user ids [fromUserId, toUserId) of a batch job; a finished partition is its checkpoint
+ */
+@Entity
+@Table(name = "batch_job_partitions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_batch_job_partitions_job_index",
+                columnNames = {"job_id", "partition_index"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchJobPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "batch_job_partitions_seq")
+    @SequenceGenerator(name = "batch_job_partitions_seq", sequenceName = "batch_job_partitions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "partition_index", nullable = false)
+    private Integer partitionIndex;
+
+    @Column(name = "from_user_id", nullable = false)
+    private Long fromUserId;
+
+    @Column(name = "to_user_id", nullable = false)
+    private Long toUserId;
+
+    @Column(nullable = false)
+    private Boolean done;
+
+    @Column(name = "users_processed", nullable = false)
+    private Long usersProcessed;
+
+    @Column(name = "users_failed", nullable = false)
+    private Long usersFailed;
+
+    @Column(nullable = false)
+    private Long corrections;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,37 @@
+package com.financetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * A client that syncs a user's data, with the data version it has acknowledged.
+ * Tombstones at or below the lowest acknowledged version of a user's devices can be dropped.
+ */
+@Entity
+@Table(name = "sync_devices",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sync_devices_user_device",
+                columnNames = {"user_id", "device_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncDevice {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sync_devices_seq")
+    @SequenceGenerator(name = "sync_devices_seq", sequenceName = "sync_devices_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "device_id", nullable = false, length = 100)
+    private String deviceId;
+
+    @Column(name = "last_version", nullable = false)
+    private Long lastVersion;
+
+    @Column(name = "last_seen_at", nullable = false)
+    private LocalDateTime lastSeenAt;
+}
@@ -0,0 +1,55 @@
+package com.financetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted transaction or category, kept so delta sync can report the deletion
+ * until every registered device has synced past it
+ */
+@Entity
+@Table(name = "sync_tombstones", indexes = {
+        @Index(name = "idx_sync_tombstones_user_change", columnList = "user_id, change_version")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sync_tombstones_seq")
+    @SequenceGenerator(name = "sync_tombstones_seq", sequenceName = "sync_tombstones_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "entity_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public static SyncTombstone of(Long userId, EntityType entityType, Long entityId, long changeVersion) {
+        return SyncTombstone.builder()
+                .userId(userId)
+                .entityType(entityType)
+                .entityId(entityId)
+                .changeVersion(changeVersion)
+                .deletedAt(LocalDateTime.now())
+                .build();
+    }
+
+    public enum EntityType {
+        TRANSACTION, CATEGORY
+    }
+}
@@ -0,0 +1,20 @@
+package com.financetracker.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when an account or client address is in a failed-login backoff window
+ */
+public class LoginThrottledException extends DomainException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterSeconds) {
+        super("Too many failed login attempts, please retry later", HttpStatus.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,20 @@
+package com.financetracker.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when the password hashing executor is saturated and cannot accept more work
+ */
+public class PasswordHashingBusyException extends DomainException {
+
+    private final int retryAfterSeconds;
+
+    public PasswordHashingBusyException(int retryAfterSeconds) {
+        super("Authentication service is busy, please retry shortly", HttpStatus.SERVICE_UNAVAILABLE);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -3,9 +3,13 @@ package com.financetracker.repository;
 import com.financetracker.entity.Budget;
 import com.financetracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Budget repository for database operations
@@ -14,4 +18,9 @@ import java.util.List;
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
     List<Budget> findByUser(User user);
     List<Budget> findByUserAndPeriod(User user, Budget.BudgetPeriod period);
+    Optional<Budget> findByIdAndUserId(Long id, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Budget b WHERE b.user.id = :userId AND b.category.id = :categoryId")
+    int deleteByUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
 }
@@ -1,17 +1,28 @@
 package com.financetracker.repository;
 
 import com.financetracker.entity.Category;
-import com.financetracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Category repository for database operations
  */
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
-    List<Category> findByUser(User user);
-    List<Category> findByUserAndType(User user, Category.CategoryType type);
+    List<Category> findByUserId(Long userId);
+    List<Category> findByUserIdAndType(Long userId, Category.CategoryType type);
+    Optional<Category> findByIdAndUserId(Long id, Long userId);
+    List<Category> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    @Query("SELECT c FROM Category c WHERE c.user.id = :userId " +
+            "AND c.changeVersion > :after AND c.changeVersion <= :upTo")
+    List<Category> findChanged(@Param("userId") Long userId,
+                               @Param("after") long after,
+                               @Param("upTo") long upTo);
 }
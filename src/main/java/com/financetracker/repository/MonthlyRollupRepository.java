@@ -0,0 +1,61 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.MonthlyRollup;
+import com.financetracker.entity.Transaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Monthly rollup repository for database operations
+ */
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long> {
+
+    List<MonthlyRollup> findByUserId(Long userId);
+
+    /**
+     * Total of one transaction type in one month
+     */
+    interface MonthTotal {
+        Integer getYearMonth();
+        Transaction.TransactionType getType();
+        BigDecimal getTotal();
+    }
+
+    /**
+     * Drops every bucket of a deleted category; buckets are keyed by category, so this removes
+     * exactly the category's totals from the user's months
+     */
+    @Modifying
+    @Query("DELETE FROM MonthlyRollup r WHERE r.userId = :userId AND r.categoryId = :categoryId")
+    int deleteByCategoryId(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+
+    @Query("SELECT r.type AS type, SUM(r.totalAmount) AS total, SUM(r.transactionCount) AS count " +
+            "FROM MonthlyRollup r " +
+            "WHERE r.userId = :userId AND r.yearMonth BETWEEN :fromMonth AND :toMonth " +
+            "AND (:allCategories = true OR r.categoryId IN :categoryIds) " +
+            "GROUP BY r.type")
+    List<TransactionRepository.TypeTotal> sumByType(@Param("userId") Long userId,
+                                                    @Param("fromMonth") int fromMonth,
+                                                    @Param("toMonth") int toMonth,
+                                                    @Param("allCategories") boolean allCategories,
+                                                    @Param("categoryIds") List<Long> categoryIds);
+
+    /**
+     * Per-month totals by type, oldest first; months without transactions are absent
+     */
+    @Query("SELECT r.yearMonth AS yearMonth, r.type AS type, SUM(r.totalAmount) AS total " +
+            "FROM MonthlyRollup r " +
+            "WHERE r.userId = :userId AND r.yearMonth BETWEEN :fromMonth AND :toMonth " +
+            "GROUP BY r.yearMonth, r.type " +
+            "ORDER BY r.yearMonth")
+    List<MonthTotal> sumByMonthAndType(@Param("userId") Long userId,
+                                       @Param("fromMonth") int fromMonth,
+                                       @Param("toMonth") int toMonth);
+}
@@ -0,0 +1,34 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Refresh token repository for database operations
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.rotatedAt = ?2 WHERE r.id = ?1 AND r.rotatedAt IS NULL AND r.revoked = false")
+    int markRotated(Long id, LocalDateTime rotatedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = ?1")
+    int revokeFamily(String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < ?1")
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,24 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.SyncDevice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Sync device repository for database operations
+ */
+@Repository
+public interface SyncDeviceRepository extends JpaRepository<SyncDevice, Long> {
+
+    Optional<SyncDevice> findByUserIdAndDeviceId(Long userId, String deviceId);
+
+    @Modifying
+    @Query("DELETE FROM SyncDevice d WHERE d.lastSeenAt < :cutoff")
+    int deleteByLastSeenAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,25 +1,230 @@
 package com.financetracker.repository;
 
+import com.financetracker.dto.TransactionDto;
 import com.financetracker.entity.Transaction;
-import com.financetracker.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Transaction repository for database operations
  */
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    Page<Transaction> findByUser(User user, Pageable pageable);
 
-    List<Transaction> findByUserAndTransactionDateBetween(User user, LocalDateTime start, LocalDateTime end);
+    /**
+     * Sum and row count for one transaction type
+     */
+    interface TypeTotal {
+        Transaction.TransactionType getType();
+        BigDecimal getTotal();
+        long getCount();
+    }
 
-    @Query("SELECT t FROM Transaction t WHERE t.user = ?1 AND t.category.id = ?2 ORDER BY t.transactionDate DESC")
-    Page<Transaction> findByUserAndCategory(User user, Long categoryId, Pageable pageable);
+    /**
+     * Row count and latest change for a date range; any insert, update or delete in the range,
+     * or a write to one of the categories it references, changes at least one of the values
+     */
+    interface RangeFingerprint {
+        long getCount();
+        LocalDateTime getLastUpdated();
+        Long getMaxId();
+        Long getCategoryVersion();
+    }
+
+    /**
+     * Searchable text of one transaction
+     */
+    interface SearchText {
+        Long getId();
+        String getTitle();
+        String getDescription();
+    }
+
+    /**
+     * Amount of one transaction, for seeding spend statistics
+     */
+    interface DatedAmount {
+        Long getCategoryId();
+        LocalDateTime getTransactionDate();
+        BigDecimal getAmount();
+    }
+
+    /**
+     * Total of one transaction type on one calendar day
+     */
+    interface DailyTotal {
+        LocalDate getDay();
+        Transaction.TransactionType getType();
+        BigDecimal getTotal();
+    }
+
+    String DTO_SELECT = "SELECT new com.financetracker.dto.TransactionDto(t.id, t.title, t.description, " +
+            "t.amount, t.type, c.id, c.name, t.transactionDate, t.createdAt) " +
+            "FROM Transaction t JOIN t.category c ";
+
+    String SYNC_SELECT = "SELECT new com.financetracker.dto.TransactionDto(t.id, t.title, t.description, " +
+            "t.amount, t.type, c.id, c.name, t.transactionDate, t.createdAt, t.changeVersion) " +
+            "FROM Transaction t JOIN t.category c ";
+
+    @Query(value = DTO_SELECT + "WHERE t.user.id = :userId",
+            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId")
+    Page<TransactionDto> findDtosByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE t.user.id = :userId " +
+            "AND t.transactionDate >= :start AND t.transactionDate < :end " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDto> findDtosByUserIdAndDateRange(@Param("userId") Long userId,
+                                                      @Param("start") LocalDateTime start,
+                                                      @Param("end") LocalDateTime end);
+
+    Optional<Transaction> findByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT COUNT(t) AS count, MAX(t.updatedAt) AS lastUpdated, MAX(t.id) AS maxId, " +
+            "MAX(c.changeVersion) AS categoryVersion " +
+            "FROM Transaction t JOIN t.category c WHERE t.user.id = :userId " +
+            "AND t.transactionDate >= :start AND t.transactionDate < :end")
+    RangeFingerprint fingerprintRange(@Param("userId") Long userId,
+                                      @Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end);
+
+    @Query(DTO_SELECT + "WHERE t.user.id = :userId AND t.id IN :ids ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDto> findDtosByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Text fields of every transaction of a user, in id order, for building the search index
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description " +
+            "FROM Transaction t WHERE t.user.id = :userId ORDER BY t.id")
+    Stream<SearchText> streamSearchTextByUserId(@Param("userId") Long userId);
+
+    /**
+     * Transactions of one type dated in [start, end), oldest first
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.category.id AS categoryId, t.transactionDate AS transactionDate, t.amount AS amount " +
+            "FROM Transaction t WHERE t.user.id = :userId " +
+            "AND t.type = :type " +
+            "AND t.transactionDate >= :start AND t.transactionDate < :end " +
+            "ORDER BY t.transactionDate")
+    Stream<DatedAmount> streamAmountsByUserIdAndType(@Param("userId") Long userId,
+                                                       @Param("type") Transaction.TransactionType type,
+                                                       @Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end);
+
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user.id = :userId AND t.id IN :ids")
+    List<Transaction> findByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Forward-only cursor over a date range; rows are fetched from the driver in chunks
+     * of the fetch size and must be consumed inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(DTO_SELECT + "WHERE t.user.id = :userId " +
+            "AND t.transactionDate >= :start AND t.transactionDate < :end " +
+            "ORDER BY t.transactionDate, t.id")
+    Stream<TransactionDto> streamDtosByUserIdAndDateRange(@Param("userId") Long userId,
+                                                         @Param("start") LocalDateTime start,
+                                                         @Param("end") LocalDateTime end);
+
+    @Query(DTO_SELECT + "WHERE t.user.id = :userId ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDto> findFirstPage(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * Seek to the rows strictly after the given (transactionDate, id) position;
+     * served by idx_transactions_user_date_id without an offset scan or count query
+     */
+    @Query(DTO_SELECT + "WHERE t.user.id = :userId " +
+            "AND (t.transactionDate < :date OR (t.transactionDate = :date AND t.id < :id)) " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDto> findPageAfter(@Param("userId") Long userId,
+                                       @Param("date") LocalDateTime date,
+                                       @Param("id") Long id,
+                                       Limit limit);
+
+    /**
+     * Rows written after the given (changeVersion, id) position and no later than upTo,
+     * in write order; served by idx_transactions_user_change
+     */
+    @Query(SYNC_SELECT + "WHERE t.user.id = :userId " +
+            "AND (t.changeVersion > :version OR (t.changeVersion = :version AND t.id > :id)) " +
+            "AND t.changeVersion <= :upTo " +
+            "ORDER BY t.changeVersion, t.id")
+    List<TransactionDto> findChangedAfter(@Param("userId") Long userId,
+                                          @Param("version") long version,
+                                          @Param("id") long id,
+                                          @Param("upTo") long upTo,
+                                          Limit limit);
+
+    @Query("SELECT t.id FROM Transaction t WHERE t.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    /**
+     * Removes a category's transactions ahead of the category itself, as the Postgres cascade would
+     */
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.category.id = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+
+    /**
+     * Keyset pages restricted to some categories, served by idx_transactions_user_category_date
+     */
+    @Query(DTO_SELECT + "WHERE t.user.id = :userId AND c.id IN :categoryIds " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDto> findByUserAndCategory(@Param("userId") Long userId,
+                                               @Param("categoryIds") Collection<Long> categoryIds,
+                                               Limit limit);
+
+    @Query(DTO_SELECT + "WHERE t.user.id = :userId AND c.id IN :categoryIds " +
+            "AND (t.transactionDate < :date OR (t.transactionDate = :date AND t.id < :id)) " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDto> findByUserAndCategoryAfter(@Param("userId") Long userId,
+                                                    @Param("categoryIds") Collection<Long> categoryIds,
+                                                    @Param("date") LocalDateTime date,
+                                                    @Param("id") Long id,
+                                                    Limit limit);
+
+    @Query("SELECT t.type AS type, SUM(t.amount) AS total, COUNT(t) AS count FROM Transaction t " +
+            "WHERE t.user.id = :userId AND t.transactionDate >= :start AND t.transactionDate < :end " +
+            "AND (:allCategories = true OR t.category.id IN :categoryIds) " +
+            "GROUP BY t.type")
+    List<TypeTotal> sumByType(@Param("userId") Long userId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end,
+                              @Param("allCategories") boolean allCategories,
+                              @Param("categoryIds") List<Long> categoryIds);
+
+    /**
+     * Per-day totals by type over [start, end), oldest first; days without transactions are absent
+     */
+    @Query("SELECT CAST(t.transactionDate AS LocalDate) AS day, t.type AS type, SUM(t.amount) AS total " +
+            "FROM Transaction t WHERE t.user.id = :userId " +
+            "AND t.transactionDate >= :start AND t.transactionDate < :end " +
+            "GROUP BY CAST(t.transactionDate AS LocalDate), t.type " +
+            "ORDER BY CAST(t.transactionDate AS LocalDate)")
+    List<DailyTotal> sumByDayAndType(@Param("userId") Long userId,
+                                     @Param("start") LocalDateTime start,
+                                     @Param("end") LocalDateTime end);
+
+    @Query("SELECT t.user.id, YEAR(t.transactionDate) * 100 + MONTH(t.transactionDate), t.category.id, t.type, " +
+            "SUM(t.amount), COUNT(t) FROM Transaction t WHERE t.user.id = :userId " +
+            "GROUP BY t.user.id, YEAR(t.transactionDate) * 100 + MONTH(t.transactionDate), t.category.id, t.type")
+    List<Object[]> computeMonthlyRollupsByUserId(@Param("userId") Long userId);
 }
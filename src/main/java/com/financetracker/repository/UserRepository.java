@@ -2,8 +2,12 @@ package com.financetracker.repository;
 
 import com.financetracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,4 +17,20 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.dataVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findDataVersion(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.dataVersion = u.dataVersion + 1 WHERE u.id = :id")
+    int incrementDataVersion(@Param("id") Long id);
+
+    @Query("SELECT MIN(u.id) FROM User u")
+    Optional<Long> findMinId();
+
+    @Query("SELECT MAX(u.id) FROM User u")
+    Optional<Long> findMaxId();
+
+    @Query("SELECT u.id FROM User u WHERE u.id >= :fromId AND u.id < :toId ORDER BY u.id")
+    List<Long> findIdsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
@@ -0,0 +1,17 @@
+package com.financetracker.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal installed by the JWT filter, carrying the user id from the token
+ * so services can reference the user without looking it up by email.
+ * The token id and expiry are kept so the token can be revoked on logout.
+ */
+public record AuthenticatedUser(Long id, String email, String tokenId, long tokenExpiresAt)
+        implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -2,14 +2,17 @@ package com.financetracker.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * JWT Token Provider for handling JWT token generation and validation
@@ -18,60 +21,62 @@ import java.util.Date;
 @Slf4j
 public class JwtTokenProvider {
 
+    public static final String USER_ID_CLAIM = "uid";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
-    public String generateToken(Authentication authentication) {
-        long now = System.currentTimeMillis();
-        Date expiryDate = new Date(now + jwtExpirationMs);
+    @Autowired
+    private VerifiedTokenCache tokenCache;
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    private SecretKey signingKey;
 
-        return Jwts.builder()
-                .setSubject(authentication.getName())
-                .setIssuedAt(new Date(now))
-                .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS512)
-                .compact();
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
-    public String generateTokenFromEmail(String email) {
+    public String generateToken(Long userId, String email) {
         long now = System.currentTimeMillis();
         Date expiryDate = new Date(now + jwtExpirationMs);
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
+                .claim(USER_ID_CLAIM, userId)
                 .setIssuedAt(new Date(now))
                 .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public String getEmailFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
-    }
+    /**
+     * Verifies the token once and returns its subject and claims together.
+     * Repeated calls with the same token are served from the verified token cache.
+     */
+    public Optional<VerifiedToken> parseToken(String token) {
+        VerifiedToken cached = tokenCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
 
-    public boolean validateToken(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            long expiresAt = claims.getExpiration() != null
+                    ? claims.getExpiration().getTime()
+                    : System.currentTimeMillis() + jwtExpirationMs;
+            VerifiedToken verified = new VerifiedToken(
+                    claims.getSubject(), claims.get(USER_ID_CLAIM, Long.class), claims.getId(), claims, expiresAt);
+            tokenCache.put(token, verified);
+            return Optional.of(verified);
         } catch (SecurityException e) {
             log.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -83,6 +88,20 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+
+    public long getExpirationMs() {
+        return jwtExpirationMs;
+    }
+
+    public String getEmailFromToken(String token) {
+        return parseToken(token)
+                .map(VerifiedToken::subject)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
+    }
+
+    public boolean validateToken(String token) {
+        return parseToken(token).isPresent();
     }
 }
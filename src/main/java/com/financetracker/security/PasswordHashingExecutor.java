@@ -0,0 +1,161 @@
+package com.financetracker.security;
+
+import com.financetracker.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs BCrypt hashing on a dedicated, bounded thread pool so that login bursts
+ * cannot consume the request threads serving the rest of the API.
+ * Work is rejected at submit time when the queue ahead of it would not drain within
+ * max-wait-ms, and withdrawn if it has still not started by then, so a request thread
+ * waits at most that long plus one hash.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.security.bcrypt-strength:12}")
+    private int bcryptStrength;
+
+    @Value("${app.security.password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${app.security.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.security.password-hashing.max-wait-ms:1000}")
+    private long maxWaitMs;
+
+    @Value("${app.security.password-hashing.retry-after-seconds:2}")
+    private int retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+    private int poolSize;
+    private Timer encodeTimer;
+    private Timer matchTimer;
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        encodeTimer = Timer.builder("password.hashing.duration").tag("operation", "encode").register(meterRegistry);
+        matchTimer = Timer.builder("password.hashing.duration").tag("operation", "matches").register(meterRegistry);
+        rejected = Counter.builder("password.hashing.rejected")
+                .description("Hashing requests rejected because the executor was saturated")
+                .register(meterRegistry);
+
+        log.info("Password hashing executor started with {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * True when the stored hash was produced with a cost other than the configured one
+     */
+    public boolean needsRehash(String encodedPassword) {
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != bcryptStrength;
+    }
+
+    /**
+     * Expected time a task submitted now spends queued: every thread busy with one hash and
+     * the queued tasks spread across the pool ahead of it
+     */
+    long estimatedWaitNanos() {
+        long hashes = encodeTimer.count() + matchTimer.count();
+        if (hashes == 0) {
+            return 0;
+        }
+        double meanNanos = (encodeTimer.totalTime(TimeUnit.NANOSECONDS)
+                + matchTimer.totalTime(TimeUnit.NANOSECONDS)) / hashes;
+        long rounds = (executor.getActiveCount() + executor.getQueue().size()) / poolSize;
+        return (long) (rounds * meanNanos);
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        if (estimatedWaitNanos() > TimeUnit.MILLISECONDS.toNanos(maxWaitMs)) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+
+        CountDownLatch started = new CountDownLatch(1);
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                started.countDown();
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+
+        try {
+            // A task cancelled while still queued never runs; once a hash has started it cannot
+            // be interrupted, so the caller waits the one hash out
+            if (!started.await(maxWaitMs, TimeUnit.MILLISECONDS) && future.cancel(false)) {
+                rejected.increment();
+                throw new PasswordHashingBusyException(retryAfterSeconds);
+            }
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
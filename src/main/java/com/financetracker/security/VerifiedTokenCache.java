@@ -0,0 +1,111 @@
+package com.financetracker.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of already verified tokens, keyed by a SHA-256 digest of the raw token.
+ * Entries are dropped once the token's exp claim has passed.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    @Value("${jwt.cache.max-size:10000}")
+    private int maxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @PostConstruct
+    public void registerMetrics() {
+        FunctionCounter.builder("jwt.cache.hits", hits, LongAdder::sum)
+                .description("Requests served from the verified token cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.cache.misses", misses, LongAdder::sum)
+                .description("Requests that required a full token parse")
+                .register(meterRegistry);
+        Gauge.builder("jwt.cache.size", entries, Map::size)
+                .register(meterRegistry);
+    }
+
+    public VerifiedToken get(String token) {
+        String key = digest(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(System.currentTimeMillis())) {
+                hits.increment();
+                return cached;
+            }
+            entries.remove(key, cached);
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        entries.put(digest(token), verified);
+    }
+
+    public void invalidate(String token) {
+        entries.remove(digest(token));
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.cache.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    private void makeRoom() {
+        evictExpired();
+        // Still full: drop an arbitrary slice rather than tracking access order on the hot path
+        int toDrop = Math.max(1, maxSize / 16);
+        Iterator<String> it = entries.keySet().iterator();
+        while (toDrop-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -2,13 +2,21 @@ package com.financetracker.service;
 
 import com.financetracker.dto.LoginRequestDto;
 import com.financetracker.dto.LoginResponseDto;
+import com.financetracker.dto.RefreshTokenRequestDto;
 import com.financetracker.dto.RegisterRequestDto;
 import com.financetracker.entity.User;
+import com.financetracker.exception.ConflictException;
+import com.financetracker.exception.InvalidRefreshTokenException;
+import com.financetracker.exception.NotFoundException;
 import com.financetracker.repository.UserRepository;
+import com.financetracker.security.AuthenticatedUser;
 import com.financetracker.security.JwtTokenProvider;
+import com.financetracker.security.LoginThrottle;
+import com.financetracker.security.PasswordHashingExecutor;
+import com.financetracker.security.TokenRevocationList;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 
 /**
@@ -23,19 +31,31 @@ public class AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingExecutor passwordHasher;
 
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private NotificationHub notificationHub;
+
     public User register(RegisterRequestDto request) {
         if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("User already exists with this email");
+            throw ConflictException.EMAIL_TAKEN;
         }
 
         User user = User.builder()
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHasher.encode(request.getPassword()))
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .currency(request.getCurrency() != null ? request.getCurrency() : "USD")
@@ -46,18 +66,59 @@ public class AuthService {
         return saved;
     }
 
-    public LoginResponseDto login(LoginRequestDto request) {
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public LoginResponseDto login(LoginRequestDto request, String clientIp) {
+        loginThrottle.checkAllowed(request.getEmail(), clientIp);
+
+        User user = userRepository.findByEmail(request.getEmail()).orElse(null);
+        if (user == null || !passwordHasher.matches(request.getPassword(), user.getPassword())) {
+            loginThrottle.recordFailure(request.getEmail(), clientIp);
+            throw new BadCredentialsException("Invalid credentials");
+        }
+        loginThrottle.recordSuccess(request.getEmail());
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new RuntimeException("Invalid credentials");
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHasher.encode(request.getPassword()));
+            userRepository.save(user);
+            log.info("Upgraded password hash cost for user {}", user.getId());
         }
 
-        String token = jwtTokenProvider.generateTokenFromEmail(request.getEmail());
+        return buildLoginResponse(user, refreshTokenService.issue(user.getId()));
+    }
+
+    /**
+     * Exchanges a refresh token for a new access/refresh token pair without re-checking the password
+     */
+    public LoginResponseDto refresh(RefreshTokenRequestDto request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+
+        User user = userRepository.findById(rotation.userId())
+                .filter(User::getActive)
+                .orElse(null);
+        if (user == null) {
+            refreshTokenService.revoke(rotation.refreshToken());
+            throw new InvalidRefreshTokenException();
+        }
+
+        return buildLoginResponse(user, rotation.refreshToken());
+    }
+
+    /**
+     * Revokes the presented access token and, when given, the refresh token family it was issued with
+     */
+    public void logout(AuthenticatedUser principal, String refreshToken) {
+        tokenRevocationList.revoke(principal.tokenId(), principal.tokenExpiresAt());
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        // Open event streams were authorized by the session that just ended
+        notificationHub.disconnect(principal.id());
+    }
 
+    private LoginResponseDto buildLoginResponse(User user, String refreshToken) {
         return LoginResponseDto.builder()
-                .token(token)
+                .token(jwtTokenProvider.generateToken(user.getId(), user.getEmail()))
+                .refreshToken(refreshToken)
+                .expiresIn(jwtTokenProvider.getExpirationMs())
                 .email(user.getEmail())
                 .firstName(user.getFirstName())
                 .lastName(user.getLastName())
@@ -67,6 +128,6 @@ public class AuthService {
 
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> NotFoundException.USER);
     }
 }
@@ -0,0 +1,25 @@
+package com.financetracker.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reloads a user's in-memory budget totals from the database
+ */
+@Component
+public class BudgetRecomputeTask implements UserBatchTask {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Override
+    public String name() {
+        return "budgets";
+    }
+
+    @Override
+    public long process(Long userId) {
+        budgetService.refresh(userId);
+        return 0;
+    }
+}
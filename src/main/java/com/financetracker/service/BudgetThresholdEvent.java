@@ -0,0 +1,12 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.BudgetStatusDto;
+
+import java.math.BigDecimal;
+
+/**
+ * Published after commit when a write takes a budget's utilization up across an alert
+ * threshold; threshold is the highest one crossed
+ */
+public record BudgetThresholdEvent(Long userId, BigDecimal threshold, BudgetStatusDto status) {
+}
@@ -2,13 +2,21 @@ package com.financetracker.service;
 
 import com.financetracker.dto.CategoryDto;
 import com.financetracker.entity.Category;
+import com.financetracker.entity.SyncTombstone;
 import com.financetracker.entity.User;
+import com.financetracker.exception.NotFoundException;
 import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.MonthlyRollupRepository;
+import com.financetracker.repository.SyncTombstoneRepository;
+import com.financetracker.repository.TransactionRepository;
 import com.financetracker.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,9 +34,28 @@ public class CategoryService {
     @Autowired
     private UserRepository userRepository;
 
-    public CategoryDto createCategory(String userEmail, CategoryDto dto) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SyncTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public CategoryDto createCategory(Long userId, CategoryDto dto) {
+        User user = userRepository.getReferenceById(userId);
+        long version = dataVersionService.bump(userId);
 
         Category category = Category.builder()
                 .name(dto.getName())
@@ -36,45 +63,70 @@ public class CategoryService {
                 .type(Category.CategoryType.valueOf(dto.getType()))
                 .color(dto.getColor() != null ? dto.getColor() : "#000000")
                 .user(user)
+                .changeVersion(version)
                 .build();
 
         Category saved = categoryRepository.save(category);
         return mapToDto(saved);
     }
 
-    public List<CategoryDto> getUserCategories(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        return categoryRepository.findByUser(user).stream()
+    public List<CategoryDto> getUserCategories(Long userId) {
+        return categoryRepository.findByUserId(userId).stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
     }
 
-    public List<CategoryDto> getCategoriesByType(String userEmail, String type) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        return categoryRepository.findByUserAndType(user, Category.CategoryType.valueOf(type)).stream()
+    public List<CategoryDto> getCategoriesByType(Long userId, String type) {
+        return categoryRepository.findByUserIdAndType(userId, Category.CategoryType.valueOf(type)).stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
     }
 
-    public CategoryDto updateCategory(Long id, CategoryDto dto) {
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+    @Transactional
+    public CategoryDto updateCategory(Long userId, Long id, CategoryDto dto) {
+        Category category = categoryRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> NotFoundException.CATEGORY);
 
         category.setName(dto.getName());
         category.setDescription(dto.getDescription());
         category.setColor(dto.getColor());
+        category.setChangeVersion(dataVersionService.bump(userId));
 
         Category updated = categoryRepository.save(category);
         return mapToDto(updated);
     }
 
-    public void deleteCategory(Long id) {
-        Long categoryId = id;
-        categoryRepository.deleteById(categoryId);
+    @Transactional
+    public void deleteCategory(Long userId, Long id) {
+        Category category = categoryRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> NotFoundException.CATEGORY);
+
+        long version = dataVersionService.bump(userId);
+        List<SyncTombstone> tombstones = new ArrayList<>();
+        tombstones.add(SyncTombstone.of(userId, SyncTombstone.EntityType.CATEGORY, id, version));
+        // A category's transactions go with it, so those need tombstones too
+        List<Long> transactionIds = transactionRepository.findIdsByCategoryId(id);
+        for (Long transactionId : transactionIds) {
+            tombstones.add(SyncTombstone.of(userId, SyncTombstone.EntityType.TRANSACTION, transactionId, version));
+        }
+
+        budgetService.deleteCategoryBudgets(userId, id);
+        transactionRepository.deleteByCategoryId(id);
+        rollupRepository.deleteByCategoryId(userId, id);
+        categoryRepository.delete(category);
+        tombstoneRepository.saveAll(tombstones);
+        if (!transactionIds.isEmpty()) {
+            eventPublisher.publishEvent(TransactionChangedEvent.categoryDeleted(userId, version));
+        }
+    }
+
+    /**
+     * Categories written after the given data version, up to and including upTo
+     */
+    public List<CategoryDto> getChangedCategories(Long userId, long after, long upTo) {
+        return categoryRepository.findChanged(userId, after, upTo).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
     }
 
     private CategoryDto mapToDto(Category category) {
@@ -0,0 +1,247 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.BudgetAlertDto;
+import com.financetracker.dto.TransactionNotificationDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-user Server-Sent Events fan-out. An idle subscription is only an async request and a
+ * small queue, holding no thread. Events are queued per subscriber, up to a bound past which
+ * the oldest are dropped, and drained by a virtual thread that exists only while the queue
+ * is non-empty, so a slow client never delays the writer or other subscribers.
+ */
+@Component
+@Slf4j
+public class NotificationHub {
+
+    private static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+    @Value("${app.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.events.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.events.max-subscriptions-per-user:5}")
+    private int maxPerUser;
+
+    @Value("${app.events.reconnect-delay-ms:3000}")
+    private long reconnectDelayMs;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private ExecutorService writers;
+    private Counter sent;
+    private Counter dropped;
+
+    @PostConstruct
+    public void init() {
+        writers = Executors.newVirtualThreadPerTaskExecutor();
+        Gauge.builder("events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open Server-Sent Events subscriptions")
+                .register(meterRegistry);
+        sent = Counter.builder("events.sent").register(meterRegistry);
+        dropped = Counter.builder("events.dropped")
+                .description("Events discarded because a subscriber's queue was full")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(list -> List.copyOf(list).forEach(subscriber -> subscriber.emitter.complete()));
+        writers.shutdownNow();
+    }
+
+    /**
+     * Opens a subscription; past the per-user limit the user's oldest subscription is closed.
+     * The stream ends no later than the access token it was opened with, so a client has to
+     * present a live token again to keep receiving events.
+     */
+    public SseEmitter subscribe(Long userId, long tokenExpiresAt) {
+        // Budget alerts are detected against loaded totals, so load them for connected users
+        budgetService.getStatuses(userId);
+
+        long tokenLifetimeMs = Math.max(1, tokenExpiresAt - System.currentTimeMillis());
+        SseEmitter emitter = new SseEmitter(Math.min(timeoutMs, tokenLifetimeMs));
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        List<Subscriber> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, list) -> {
+            List<Subscriber> updated = list != null ? new ArrayList<>(list) : new ArrayList<>();
+            updated.add(subscriber);
+            while (updated.size() > maxPerUser) {
+                evicted.add(updated.remove(0));
+            }
+            return List.copyOf(updated);
+        });
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(subscriber));
+        evicted.forEach(old -> old.emitter.complete());
+
+        subscriber.offer(SseEmitter.event().reconnectTime(reconnectDelayMs).comment("connected"));
+        return emitter;
+    }
+
+    /**
+     * Closes every open subscription of the user, for when their session is revoked
+     */
+    public void disconnect(Long userId) {
+        List<Subscriber> list = subscribers.get(userId);
+        if (list != null) {
+            list.forEach(subscriber -> subscriber.emitter.complete());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        TransactionChangedEvent.Snapshot snapshot = event.after() != null ? event.after() : event.before();
+        TransactionNotificationDto.TransactionNotificationDtoBuilder notification = TransactionNotificationDto.builder()
+                .change(event.change().toString());
+        if (snapshot != null) {
+            notification.id(snapshot.id())
+                    .title(snapshot.title())
+                    .amount(snapshot.amount())
+                    .type(snapshot.type().toString())
+                    .categoryId(snapshot.categoryId())
+                    .transactionDate(snapshot.transactionDate().toLocalDate());
+        }
+        publish(event.userId(), "transaction", notification.build());
+    }
+
+    @EventListener
+    public void onBudgetThreshold(BudgetThresholdEvent event) {
+        publish(event.userId(), "budget", new BudgetAlertDto(event.threshold(), event.status()));
+    }
+
+    /**
+     * Keeps idle connections open through proxies and notices clients that went away
+     */
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        for (List<Subscriber> list : subscribers.values()) {
+            for (Subscriber subscriber : list) {
+                subscriber.offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    private void publish(Long userId, String name, Object data) {
+        List<Subscriber> list = subscribers.get(userId);
+        if (list == null) {
+            return;
+        }
+        for (Subscriber subscriber : list) {
+            subscriber.offer(SseEmitter.event().name(name).data(data, JSON));
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.close()) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.userId, (id, list) -> {
+            List<Subscriber> updated = new ArrayList<>(list);
+            updated.remove(subscriber);
+            return updated.isEmpty() ? null : List.copyOf(updated);
+        });
+    }
+
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() == queueCapacity) {
+                    queue.pollFirst();
+                    dropped.increment();
+                }
+                queue.addLast(event);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            writers.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = queue.pollFirst();
+                    if (event == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                    sent.increment();
+                } catch (IOException | IllegalStateException e) {
+                    // The container reports the broken connection to the emitter itself
+                    log.debug("Dropping event subscription of user {}: {}", userId, e.getMessage());
+                    remove(this);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Marks the subscriber closed; true only for the first call
+         */
+        synchronized boolean close() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            queue.clear();
+            return true;
+        }
+    }
+}
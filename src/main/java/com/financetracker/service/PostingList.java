@@ -0,0 +1,192 @@
+package com.financetracker.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorted set of transaction ids stored as varint-encoded gaps. Appending an id larger than
+ * every id already present is O(1); anything else re-encodes the list.
+ */
+public final class PostingList {
+
+    private static final long[] EMPTY = new long[0];
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int size;
+    private long last;
+
+    public int size() {
+        return size;
+    }
+
+    public void add(long id) {
+        if (size > 0 && id <= last) {
+            if (id != last) {
+                insert(id);
+            }
+            return;
+        }
+        writeVarint(id - last);
+        last = id;
+        size++;
+    }
+
+    public boolean remove(long id) {
+        if (size == 0 || id > last) {
+            return false;
+        }
+        long[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, ids.length - index - 1);
+        encode(ids, ids.length - 1);
+        return true;
+    }
+
+    /**
+     * Forward-only reader over the encoded ids. It decodes in place, so it must not outlive a
+     * change to the list.
+     */
+    public Cursor cursor() {
+        return new ListCursor();
+    }
+
+    /**
+     * Ascending union of several lists, read without materializing it
+     */
+    public static Cursor union(List<PostingList> lists) {
+        Cursor[] cursors = new Cursor[lists.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = lists.get(i).cursor();
+        }
+        return new UnionCursor(cursors);
+    }
+
+    public long[] toArray() {
+        if (size == 0) {
+            return EMPTY;
+        }
+        long[] ids = new long[size];
+        long value = 0;
+        int position = 0;
+        for (int i = 0; i < size; i++) {
+            long gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                gap |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += gap;
+            ids[i] = value;
+        }
+        return ids;
+    }
+
+    private void insert(long id) {
+        long[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return;
+        }
+        int at = -index - 1;
+        long[] grown = new long[ids.length + 1];
+        System.arraycopy(ids, 0, grown, 0, at);
+        grown[at] = id;
+        System.arraycopy(ids, at, grown, at + 1, ids.length - at);
+        encode(grown, grown.length);
+    }
+
+    private void encode(long[] ids, int count) {
+        data = new byte[Math.max(8, count * 2)];
+        length = 0;
+        size = 0;
+        last = 0;
+        for (int i = 0; i < count; i++) {
+            writeVarint(ids[i] - last);
+            last = ids[i];
+            size++;
+        }
+    }
+
+    private void writeVarint(long value) {
+        if (length + 10 > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Ascending walk over a set of ids
+     */
+    public interface Cursor {
+
+        /**
+         * Moves to the first id at or above target and returns it, or Long.MAX_VALUE when no
+         * such id is left. Never moves backwards.
+         */
+        long advanceTo(long target);
+    }
+
+    private final class ListCursor implements Cursor {
+
+        private int position;
+        private int remaining = size;
+        private long value;
+        private long current = Long.MIN_VALUE;
+
+        @Override
+        public long advanceTo(long target) {
+            while (current < target) {
+                if (remaining == 0) {
+                    current = Long.MAX_VALUE;
+                    break;
+                }
+                long gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    gap |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                value += gap;
+                remaining--;
+                current = value;
+            }
+            return current;
+        }
+    }
+
+    private static final class UnionCursor implements Cursor {
+
+        private final Cursor[] cursors;
+        private final long[] heads;
+
+        UnionCursor(Cursor[] cursors) {
+            this.cursors = cursors;
+            this.heads = new long[cursors.length];
+            Arrays.fill(heads, Long.MIN_VALUE);
+        }
+
+        @Override
+        public long advanceTo(long target) {
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < cursors.length; i++) {
+                if (heads[i] < target) {
+                    heads[i] = cursors[i].advanceTo(target);
+                }
+                min = Math.min(min, heads[i]);
+            }
+            return min;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.financetracker.service;
+
+import com.financetracker.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rollup changes accumulated in memory for a multi-row write and applied once per bucket
+ * by {@link RollupService#apply(Long, RollupDeltas)}
+ */
+public class RollupDeltas {
+
+    record BucketKey(int yearMonth, Long categoryId, Transaction.TransactionType type) {
+    }
+
+    static final class Delta {
+        BigDecimal amount = BigDecimal.ZERO;
+        long count;
+    }
+
+    private final Map<BucketKey, Delta> buckets = new HashMap<>();
+
+    public void add(LocalDate date, Long categoryId, Transaction.TransactionType type, BigDecimal amount) {
+        add(RollupService.yearMonth(date), categoryId, type, amount, 1);
+    }
+
+    public void add(Transaction transaction) {
+        add(RollupService.yearMonth(transaction.getTransactionDate()), transaction.getCategory().getId(),
+                transaction.getType(), transaction.getAmount(), 1);
+    }
+
+    public void remove(Transaction transaction) {
+        add(RollupService.yearMonth(transaction.getTransactionDate()), transaction.getCategory().getId(),
+                transaction.getType(), transaction.getAmount().negate(), -1);
+    }
+
+    public void add(int yearMonth, Long categoryId, Transaction.TransactionType type, BigDecimal amount, long count) {
+        Delta delta = buckets.computeIfAbsent(new BucketKey(yearMonth, categoryId, type), k -> new Delta());
+        delta.amount = delta.amount.add(amount);
+        delta.count += count;
+    }
+
+    Map<BucketKey, Delta> buckets() {
+        return buckets;
+    }
+}
@@ -0,0 +1,326 @@
+package com.financetracker.service;
+
+import com.financetracker.entity.MonthlyRollup;
+import com.financetracker.entity.Transaction;
+import com.financetracker.repository.MonthlyRollupRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains the per-user monthly rollup table. Deltas are applied inside the caller's
+ * transaction so the rollups commit or roll back together with the transaction rows.
+ */
+@Service
+@Slf4j
+public class RollupService {
+
+    private static final int REBUILD_USER_PAGE = 500;
+
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+
+    // Adds to a bucket or creates it in one statement, so concurrent first writes to the same
+    // bucket cannot both insert and trip uk_rollup_bucket
+    private static final String POSTGRES_UPSERT = "INSERT INTO transaction_monthly_rollups " +
+            "(id, user_id, year_month, category_id, type, total_amount, transaction_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, year_month, category_id, type) DO UPDATE SET " +
+            "total_amount = transaction_monthly_rollups.total_amount + EXCLUDED.total_amount, " +
+            "transaction_count = transaction_monthly_rollups.transaction_count + EXCLUDED.transaction_count";
+
+    private static final String MERGE_UPSERT = "MERGE INTO transaction_monthly_rollups r " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS INTEGER), CAST(? AS BIGINT), " +
+            "CAST(? AS VARCHAR(255)), CAST(? AS DECIMAL(19, 2)), CAST(? AS BIGINT))) " +
+            "AS v(id, user_id, year_month, category_id, type, total_amount, transaction_count) " +
+            "ON r.user_id = v.user_id AND r.year_month = v.year_month " +
+            "AND r.category_id = v.category_id AND r.type = v.type " +
+            "WHEN MATCHED THEN UPDATE SET total_amount = r.total_amount + v.total_amount, " +
+            "transaction_count = r.transaction_count + v.transaction_count " +
+            "WHEN NOT MATCHED THEN INSERT (id, user_id, year_month, category_id, type, total_amount, transaction_count) " +
+            "VALUES (v.id, v.user_id, v.year_month, v.category_id, v.type, v.total_amount, v.transaction_count)";
+
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String upsertSql;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate repeatableRead;
+
+    @PostConstruct
+    public void init() {
+        repeatableRead = new TransactionTemplate(transactionManager);
+        repeatableRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    public record RebuildReport(int buckets, int drifted, int missing, int stale) {
+
+        public int corrections() {
+            return drifted + missing + stale;
+        }
+
+        RebuildReport plus(RebuildReport other) {
+            return new RebuildReport(buckets + other.buckets, drifted + other.drifted,
+                    missing + other.missing, stale + other.stale);
+        }
+    }
+
+    private record BucketKey(Long userId, int yearMonth, Long categoryId, Transaction.TransactionType type) {
+    }
+
+    public static int yearMonth(LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+
+    public static int yearMonth(LocalDateTime dateTime) {
+        return dateTime.getYear() * 100 + dateTime.getMonthValue();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Long userId, Transaction transaction) {
+        apply(userId, yearMonth(transaction.getTransactionDate()), transaction.getCategory().getId(),
+                transaction.getType(), transaction.getAmount(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Long userId, Transaction transaction) {
+        apply(userId, yearMonth(transaction.getTransactionDate()), transaction.getCategory().getId(),
+                transaction.getType(), transaction.getAmount().negate(), -1);
+    }
+
+    /**
+     * Moves an edited transaction between buckets, or adjusts the amount in place when
+     * the bucket did not change
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void move(Long userId, int oldYearMonth, Long oldCategoryId, Transaction.TransactionType oldType,
+                     BigDecimal oldAmount, Transaction updated) {
+        int newYearMonth = yearMonth(updated.getTransactionDate());
+        Long newCategoryId = updated.getCategory().getId();
+        if (oldYearMonth == newYearMonth && oldCategoryId.equals(newCategoryId) && oldType == updated.getType()) {
+            BigDecimal diff = updated.getAmount().subtract(oldAmount);
+            if (diff.signum() != 0) {
+                apply(userId, newYearMonth, newCategoryId, updated.getType(), diff, 0);
+            }
+            return;
+        }
+        apply(userId, oldYearMonth, oldCategoryId, oldType, oldAmount.negate(), -1);
+        apply(userId, newYearMonth, newCategoryId, updated.getType(), updated.getAmount(), 1);
+    }
+
+    /**
+     * Applies deltas accumulated over a multi-row write with one statement per touched bucket
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long userId, RollupDeltas deltas) {
+        for (Map.Entry<RollupDeltas.BucketKey, RollupDeltas.Delta> entry : deltas.buckets().entrySet()) {
+            RollupDeltas.BucketKey key = entry.getKey();
+            RollupDeltas.Delta delta = entry.getValue();
+            if (delta.count != 0 || delta.amount.signum() != 0) {
+                apply(userId, key.yearMonth(), key.categoryId(), key.type(), delta.amount, delta.count);
+            }
+        }
+    }
+
+    /**
+     * Upserts one bucket inside the caller's transaction. The id is drawn from the entity's own
+     * pooled-lo generator and is only used when the bucket is new.
+     */
+    private void apply(Long userId, int yearMonth, Long categoryId, Transaction.TransactionType type,
+                       BigDecimal amount, long count) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator idGenerator = (BeforeExecutionGenerator) session.getFactory()
+                .getMappingMetamodel().getEntityDescriptor(MonthlyRollup.class).getGenerator();
+        Object id = idGenerator.generate(session, null, null, EventType.INSERT);
+        String sql = upsertSql();
+        try {
+            jdbcTemplate.update(sql, id, userId, yearMonth, categoryId, type.name(), amount, count);
+        } catch (DuplicateKeyException e) {
+            // MERGE is not atomic against a concurrent insert of the same bucket; that insert has
+            // committed by the time the violation is raised, so the retry takes the update branch.
+            // ON CONFLICT never gets here, and PostgreSQL could not continue the transaction anyway
+            if (POSTGRES_UPSERT.equals(sql)) {
+                throw e;
+            }
+            jdbcTemplate.update(sql, id, userId, yearMonth, categoryId, type.name(), amount, count);
+        }
+    }
+
+    /**
+     * PostgreSQL gets INSERT ... ON CONFLICT; other databases (H2) get the standard MERGE
+     */
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            sql = "PostgreSQL".equalsIgnoreCase(product) ? POSTGRES_UPSERT : MERGE_UPSERT;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+
+    /**
+     * Recomputes every bucket from the transactions table and reports any drift. Users are
+     * reconciled one at a time in their own short transaction, so a write racing one user's
+     * recompute only retries that user instead of aborting the whole run.
+     */
+    public RebuildReport rebuild() {
+        RebuildReport report = new RebuildReport(0, 0, 0, 0);
+        Long fromId = userRepository.findMinId().orElse(null);
+        Long maxId = userRepository.findMaxId().orElse(null);
+        while (fromId != null && fromId <= maxId) {
+            long toId = fromId + REBUILD_USER_PAGE;
+            for (Long userId : userRepository.findIdsInRange(fromId, toId)) {
+                report = report.plus(rebuildUser(userId));
+            }
+            fromId = toId;
+        }
+        if (report.corrections() > 0) {
+            log.warn("Rollup rebuild corrected drift: {}", report);
+        } else {
+            log.info("Rollup rebuild found no drift across {} buckets", report.buckets());
+        }
+        return report;
+    }
+
+    /**
+     * The same recompute limited to one user. Stored and recomputed values are read from one
+     * snapshot and corrections are applied as deltas, so writes committed meanwhile are not
+     * overwritten; a serialization failure against such a write is retried.
+     */
+    public RebuildReport rebuildUser(Long userId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return repeatableRead.execute(status -> reconcile(rollupRepository.findByUserId(userId),
+                        transactionRepository.computeMonthlyRollupsByUserId(userId)));
+            } catch (ConcurrencyFailureException e) {
+                if (attempt == MAX_REBUILD_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Rollup rebuild of user {} conflicted with a write, retrying: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Corrects stored buckets to the recomputed rows; the data version of every corrected
+     * user is bumped so cached summaries are revalidated
+     */
+    private RebuildReport reconcile(List<MonthlyRollup> rollups, List<Object[]> computed) {
+        Map<BucketKey, MonthlyRollup> stored = new HashMap<>();
+        for (MonthlyRollup rollup : rollups) {
+            stored.put(new BucketKey(rollup.getUserId(), rollup.getYearMonth(), rollup.getCategoryId(),
+                    rollup.getType()), rollup);
+        }
+
+        Set<Long> corrected = new HashSet<>();
+        int buckets = 0;
+        int drifted = 0;
+        int missing = 0;
+        for (Object[] row : computed) {
+            BucketKey key = new BucketKey((Long) row[0], ((Number) row[1]).intValue(), (Long) row[2],
+                    (Transaction.TransactionType) row[3]);
+            BigDecimal total = (BigDecimal) row[4];
+            long count = (Long) row[5];
+            buckets++;
+
+            MonthlyRollup existing = stored.remove(key);
+            if (existing == null) {
+                missing++;
+                corrected.add(key.userId());
+                log.warn("Rollup missing for {}: actual {} / {}", key, total, count);
+                apply(key.userId(), key.yearMonth(), key.categoryId(), key.type(), total, count);
+            } else if (existing.getTotalAmount().compareTo(total) != 0 || existing.getTransactionCount() != count) {
+                drifted++;
+                corrected.add(key.userId());
+                log.warn("Rollup drift for {}: stored {} / {}, actual {} / {}", key,
+                        existing.getTotalAmount(), existing.getTransactionCount(), total, count);
+                apply(key.userId(), key.yearMonth(), key.categoryId(), key.type(),
+                        total.subtract(existing.getTotalAmount()), count - existing.getTransactionCount());
+            }
+        }
+
+        // Buckets left over have no transactions behind them: empty ones are compacted away,
+        // anything else is drift and is zeroed out
+        int stale = 0;
+        for (Map.Entry<BucketKey, MonthlyRollup> entry : stored.entrySet()) {
+            MonthlyRollup rollup = entry.getValue();
+            if (rollup.getTransactionCount() == 0 && rollup.getTotalAmount().signum() == 0) {
+                rollupRepository.delete(rollup);
+                continue;
+            }
+            stale++;
+            corrected.add(entry.getKey().userId());
+            log.warn("Rollup stale for {}: stored {} / {}", entry.getKey(),
+                    rollup.getTotalAmount(), rollup.getTransactionCount());
+            BucketKey key = entry.getKey();
+            apply(key.userId(), key.yearMonth(), key.categoryId(), key.type(),
+                    rollup.getTotalAmount().negate(), -rollup.getTransactionCount());
+        }
+
+        corrected.forEach(dataVersionService::bump);
+        return new RebuildReport(buckets, drifted, missing, stale);
+    }
+
+    @Scheduled(cron = "${app.rollup.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Seeds the rollups for databases that already held transactions before they existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedIfEmpty() {
+        if (rollupRepository.count() == 0 && transactionRepository.count() > 0) {
+            log.info("Rollup table is empty, building it from existing transactions");
+            rebuild();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.CategoryDto;
+import com.financetracker.dto.SyncResponseDto;
+import com.financetracker.dto.TransactionDto;
+import com.financetracker.entity.SyncDevice;
+import com.financetracker.entity.SyncTombstone;
+import com.financetracker.repository.SyncDeviceRepository;
+import com.financetracker.repository.SyncTombstoneRepository;
+import com.financetracker.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta sync of transactions and categories. Every write stamps its rows with the user's new
+ * data version, and deletes leave tombstones at that version, so a client holding a cursor
+ * only receives what was written after it.
+ */
+@Service
+@Slf4j
+public class SyncService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int MAX_DEVICE_ID_LENGTH = 100;
+
+    @Value("${app.sync.device-ttl-days:90}")
+    private int deviceTtlDays;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SyncTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private SyncDeviceRepository deviceRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    /**
+     * Returns the next page of changes after cursor and records that the device holds
+     * everything the cursor covers. Pages end on a transaction boundary; categories and
+     * tombstones are included up to the version of the page's last transaction.
+     */
+    @Transactional
+    public SyncResponseDto sync(Long userId, String deviceId, String cursor, int size) {
+        if (deviceId == null || deviceId.isBlank() || deviceId.length() > MAX_DEVICE_ID_LENGTH) {
+            throw new IllegalArgumentException("deviceId is required and at most " + MAX_DEVICE_ID_LENGTH + " characters");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        SyncCursor position = SyncCursor.decode(cursor);
+        long current = dataVersionService.current(userId);
+        LocalDateTime now = LocalDateTime.now();
+
+        SyncDevice device = deviceRepository.findByUserIdAndDeviceId(userId, deviceId).orElse(null);
+        // Tombstones are only kept for registered devices, from their acknowledged version on
+        boolean reset = !position.equals(SyncCursor.START)
+                && (device == null || position.acknowledged() < device.getLastVersion() || position.version() > current);
+        if (reset) {
+            log.debug("Sync cursor of device {} for user {} can no longer be served, sending full state", deviceId, userId);
+            position = SyncCursor.START;
+        }
+        if (device == null) {
+            device = SyncDevice.builder().userId(userId).deviceId(deviceId).build();
+        }
+        // Never below the stored value unless the device starts over from a full sync
+        device.setLastVersion(position.acknowledged());
+        device.setLastSeenAt(now);
+        deviceRepository.save(device);
+
+        List<TransactionDto> transactions = transactionRepository.findChangedAfter(
+                userId, position.version(), position.id(), current, Limit.of(pageSize + 1));
+        boolean hasMore = transactions.size() > pageSize;
+        SyncCursor next = SyncCursor.completed(current);
+        if (hasMore) {
+            transactions = transactions.subList(0, pageSize);
+            TransactionDto last = transactions.get(pageSize - 1);
+            next = new SyncCursor(last.getChangeVersion(), last.getId());
+        }
+
+        boolean full = position.equals(SyncCursor.START);
+        List<CategoryDto> categories = categoryService.getChangedCategories(userId, position.version(), next.version());
+        List<Long> deletedTransactionIds = new ArrayList<>();
+        List<Long> deletedCategoryIds = new ArrayList<>();
+        if (!full) {
+            for (SyncTombstone tombstone : tombstoneRepository.findChanged(userId, position.version(), next.version())) {
+                if (tombstone.getEntityType() == SyncTombstone.EntityType.CATEGORY) {
+                    deletedCategoryIds.add(tombstone.getEntityId());
+                } else {
+                    deletedTransactionIds.add(tombstone.getEntityId());
+                }
+            }
+        }
+
+        return SyncResponseDto.builder()
+                .cursor(next.encode())
+                .full(full)
+                .hasMore(hasMore)
+                .transactions(new ArrayList<>(transactions))
+                .categories(categories)
+                .deletedTransactionIds(deletedTransactionIds)
+                .deletedCategoryIds(deletedCategoryIds)
+                .build();
+    }
+
+    /**
+     * Forgets devices that stopped syncing and drops tombstones every remaining device has
+     * synced past. A forgotten device that comes back is sent a full sync.
+     */
+    @Scheduled(fixedDelayString = "${app.sync.compact-interval-ms:3600000}")
+    @Transactional
+    public void compact() {
+        int devices = deviceRepository.deleteByLastSeenAtBefore(LocalDateTime.now().minusDays(deviceTtlDays));
+        int tombstones = tombstoneRepository.deleteAcknowledged();
+        if (devices > 0 || tombstones > 0) {
+            log.info("Sync compaction removed {} idle devices and {} tombstones", devices, tombstones);
+        }
+    }
+}
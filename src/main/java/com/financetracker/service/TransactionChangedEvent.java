@@ -0,0 +1,59 @@
+package com.financetracker.service;
+
+import com.financetracker.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published by transaction writes and delivered to listeners after the database transaction
+ * commits. Carries detached snapshots so listeners never touch managed entities; before is
+ * null for creates, after is null for deletes, and both are null for bulk changes, after
+ * which listeners reload the user from the database. Version is the user data version the
+ * write was committed at.
+ */
+public record TransactionChangedEvent(Long userId, long version, Change change, Snapshot before, Snapshot after) {
+
+    public enum Change {
+        CREATED, UPDATED, DELETED, BULK_IMPORTED, CATEGORY_DELETED
+    }
+
+    public record Snapshot(Long id, String title, String description, BigDecimal amount,
+                           Transaction.TransactionType type, Long categoryId, LocalDateTime transactionDate) {
+
+        public static Snapshot of(Transaction transaction) {
+            return new Snapshot(transaction.getId(), transaction.getTitle(), transaction.getDescription(),
+                    transaction.getAmount(), transaction.getType(), transaction.getCategory().getId(),
+                    transaction.getTransactionDate());
+        }
+    }
+
+    public static TransactionChangedEvent created(Long userId, Transaction transaction) {
+        return new TransactionChangedEvent(userId, transaction.getChangeVersion(), Change.CREATED, null,
+                Snapshot.of(transaction));
+    }
+
+    public static TransactionChangedEvent updated(Long userId, Snapshot before, Transaction transaction) {
+        return new TransactionChangedEvent(userId, transaction.getChangeVersion(), Change.UPDATED, before,
+                Snapshot.of(transaction));
+    }
+
+    public static TransactionChangedEvent deleted(Long userId, long version, Transaction transaction) {
+        return new TransactionChangedEvent(userId, version, Change.DELETED, Snapshot.of(transaction), null);
+    }
+
+    public static TransactionChangedEvent bulkImported(Long userId, long version) {
+        return new TransactionChangedEvent(userId, version, Change.BULK_IMPORTED, null, null);
+    }
+
+    public static TransactionChangedEvent categoryDeleted(Long userId, long version) {
+        return new TransactionChangedEvent(userId, version, Change.CATEGORY_DELETED, null, null);
+    }
+
+    /**
+     * True when the change touched an unknown set of rows and carries no snapshots
+     */
+    public boolean isBulk() {
+        return change == Change.BULK_IMPORTED || change == Change.CATEGORY_DELETED;
+    }
+}
@@ -0,0 +1,165 @@
+package com.financetracker.service;
+
+import com.financetracker.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped CSV exports. Exports of closed months are kept on local disk, keyed by user, month
+ * and a fingerprint of the month's rows, so repeat downloads skip the database scan.
+ */
+@Service
+@Slf4j
+public class TransactionExportService {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Value("${app.export.cache-dir:${java.io.tmpdir}/finance-tracker-exports}")
+    private String cacheDirectory;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Path cacheRoot;
+
+    /**
+     * A cached export file and the fingerprint it was built from, usable as an ETag
+     */
+    public record CachedExport(Path file, String fingerprint) {
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        cacheRoot = Path.of(cacheDirectory);
+        Files.createDirectories(cacheRoot);
+    }
+
+    public static boolean isClosed(YearMonth month) {
+        return month.isBefore(YearMonth.now());
+    }
+
+    /**
+     * Streams the range from a database cursor through gzip without buffering the export
+     */
+    public void writeGzip(Long userId, LocalDate start, LocalDate end, OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+        transactionService.streamTransactionsAsCsv(userId, start, end, gzip);
+        gzip.finish();
+        gzip.flush();
+    }
+
+    /**
+     * Returns the cached export of a closed month, building it first when the month's rows
+     * changed since the cached copy was written
+     */
+    public CachedExport getClosedMonth(Long userId, YearMonth month) throws IOException {
+        if (!isClosed(month)) {
+            throw new IllegalArgumentException("Only closed months are cached");
+        }
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.atEndOfMonth();
+        String fingerprint = fingerprint(transactionRepository.fingerprintRange(
+                userId, start.atStartOfDay(), end.plusDays(1).atStartOfDay()));
+
+        Path userDir = cacheRoot.resolve(String.valueOf(userId));
+        Path file = userDir.resolve(month + "-" + fingerprint + ".csv.gz");
+        if (Files.exists(file)) {
+            return new CachedExport(file, fingerprint);
+        }
+
+        Files.createDirectories(userDir);
+        Path temp = Files.createTempFile(userDir, month.toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp, StandardOpenOption.WRITE)) {
+                writeGzip(userId, start, end, out);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        removeStale(userDir, month, file);
+        log.debug("Built export cache {} for user {}", file.getFileName(), userId);
+        return new CachedExport(file, fingerprint);
+    }
+
+    /**
+     * Sends a cached export. When the connector supports it, Tomcat's sendfile writes the file
+     * to the socket from the page cache once the request completes; otherwise the file is
+     * copied with FileChannel.transferTo.
+     */
+    public void send(CachedExport export, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        long size = Files.size(export.file());
+        response.setContentLengthLong(size);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, export.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        try (FileChannel channel = FileChannel.open(export.file(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+        out.flush();
+    }
+
+    private static void removeStale(Path userDir, YearMonth month, Path current) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(userDir, month + "-*.csv.gz")) {
+            for (Path file : files) {
+                if (!file.equals(current)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not remove stale exports for {} in {}: {}", month, userDir, e.getMessage());
+        }
+    }
+
+    private static String fingerprint(TransactionRepository.RangeFingerprint range) {
+        String raw = range.getCount() + ":" + range.getMaxId() + ":" + range.getLastUpdated()
+                + ":" + range.getCategoryVersion();
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
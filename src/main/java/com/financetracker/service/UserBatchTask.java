@@ -0,0 +1,18 @@
+package com.financetracker.service;
+
+/**
+ * Work a batch job applies to one user at a time. A resumed job repeats the users of any
+ * partition that had not finished, so processing a user twice must be harmless.
+ */
+public interface UserBatchTask {
+
+    /**
+     * Name a job is started with
+     */
+    String name();
+
+    /**
+     * Processes one user and returns the number of corrections made
+     */
+    long process(Long userId);
+}
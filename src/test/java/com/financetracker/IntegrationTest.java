@@ -0,0 +1,65 @@
+package com.financetracker;
+
+import com.financetracker.dto.CategoryDto;
+import com.financetracker.entity.User;
+import com.financetracker.repository.RefreshTokenRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.CategoryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.util.UUID;
+
+/**
+ * Base for tests that run against the full application on an in-memory H2 database. Every
+ * subclass shares one application context, so each test creates its own user to stay isolated.
+ * Repositories that tests inject failures into are spies here, so they do not fork the context.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:integration-test",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.financetracker.RecordingStatementInspector",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "app.forecast.snapshot-file=target/integration-test-forecast.bin",
+        "app.export.cache-dir=target/integration-test-exports"
+})
+@AutoConfigureMockMvc
+public abstract class IntegrationTest {
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected CategoryService categoryService;
+
+    @SpyBean
+    protected RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    protected Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    protected Long createUser() {
+        return userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("unused")
+                .firstName("Test")
+                .lastName("User")
+                .build()).getId();
+    }
+
+    protected Long createCategory(Long userId, String name, String type) {
+        return categoryService.createCategory(userId, CategoryDto.builder()
+                .name(name)
+                .type(type)
+                .build()).getId();
+    }
+}
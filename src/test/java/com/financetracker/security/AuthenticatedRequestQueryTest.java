@@ -0,0 +1,95 @@
+package com.financetracker.security;
+
+import com.financetracker.IntegrationTest;
+import com.financetracker.RecordingStatementInspector;
+import com.financetracker.dto.TransactionDto;
+import com.financetracker.entity.User;
+import com.financetracker.service.TransactionService;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Authenticated requests take the user id from the token: owners are attached with
+ * getReferenceById and reads filter on user_id, so no request loads the user row. Writes only
+ * touch users.data_version, which serializes them and versions the data.
+ */
+class AuthenticatedRequestQueryTest extends IntegrationTest {
+
+    private static final Pattern USERS_TABLE = Pattern.compile("\\busers\\b", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void readsAndWritesNeverLoadTheUser() throws Exception {
+        Long userId = createUser();
+        String token = tokenProvider.generateToken(userId, "queries@example.com");
+        Long categoryId = createCategory(userId, "Food", "EXPENSE");
+        Long transactionId = transactionService.createTransaction(userId, TransactionDto.builder()
+                .title("Lunch")
+                .amount(new BigDecimal("12.50"))
+                .type("EXPENSE")
+                .categoryId(categoryId)
+                .transactionDate(LocalDate.of(2025, 3, 1))
+                .build()).getId();
+        String transaction = "{\"title\":\"Dinner\",\"amount\":20.00,\"type\":\"EXPENSE\"," +
+                "\"categoryId\":" + categoryId + ",\"transactionDate\":\"2025-03-02\"}";
+
+        assertNoUserLoad(get("/transactions"), token);
+        assertNoUserLoad(get("/transactions").param("cursor", ""), token);
+        assertNoUserLoad(get("/transactions/range").param("start", "2025-01-01").param("end", "2025-12-31"), token);
+        assertNoUserLoad(get("/categories"), token);
+        assertNoUserLoad(post("/categories").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Travel\",\"type\":\"EXPENSE\"}"), token);
+        assertNoUserLoad(put("/categories/" + categoryId).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Groceries\",\"type\":\"EXPENSE\",\"color\":\"#00aa00\"}"), token);
+        assertNoUserLoad(post("/transactions").contentType(MediaType.APPLICATION_JSON).content(transaction), token);
+        assertNoUserLoad(put("/transactions/" + transactionId).contentType(MediaType.APPLICATION_JSON)
+                .content(transaction), token);
+        assertNoUserLoad(delete("/transactions/" + transactionId), token);
+    }
+
+    private void assertNoUserLoad(MockHttpServletRequestBuilder request, String token) throws Exception {
+        RequestBuilder authenticated = request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        Statistics statistics = statistics();
+        statistics.clear();
+        RecordingStatementInspector.start();
+        int status;
+        List<String> statements;
+        try {
+            status = mockMvc.perform(authenticated).andReturn().getResponse().getStatus();
+        } finally {
+            statements = RecordingStatementInspector.stop();
+        }
+
+        assertThat(status).as("status").isBetween(200, 299);
+        assertThat(statements).as("statements").isNotEmpty();
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).as("users loaded").isZero();
+        assertThat(statements.stream().filter(sql -> USERS_TABLE.matcher(sql).find()))
+                .as("statements on users")
+                .allSatisfy(sql -> assertThat(sql).containsIgnoringCase("data_version"));
+    }
+}
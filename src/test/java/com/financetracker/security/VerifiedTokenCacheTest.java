@@ -0,0 +1,88 @@
+package com.financetracker.security;
+
+import com.financetracker.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repeat requests with the same token are served from the cache instead of a full signature
+ * check, and the cache counters say so
+ */
+class VerifiedTokenCacheTest extends IntegrationTest {
+
+    private static final int TOKENS = 2000;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    @Test
+    void filterVerifiesTokenOnceAndCountsHits() throws Exception {
+        Long userId = createUser();
+        String token = tokenProvider.generateToken(userId, "filter@example.com");
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenProvider, revocationList);
+        long hits = tokenCache.getHitCount();
+        long misses = tokenCache.getMissCount();
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+            request.addHeader("Authorization", "Bearer " + token);
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            AuthenticatedUser principal =
+                    (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            assertThat(principal.id()).isEqualTo(userId);
+            SecurityContextHolder.clearContext();
+        }
+
+        assertThat(tokenCache.getMissCount() - misses).isEqualTo(1);
+        assertThat(tokenCache.getHitCount() - hits).isEqualTo(2);
+    }
+
+    @Test
+    void cacheHitIsCheaperThanFullVerification() {
+        List<String> tokens = new ArrayList<>(TOKENS);
+        for (int i = 0; i < TOKENS; i++) {
+            tokens.add(tokenProvider.generateToken((long) i, "user" + i + "@example.com"));
+        }
+        // Warm up both paths on tokens that are not measured
+        for (int i = 0; i < 200; i++) {
+            String warm = tokenProvider.generateToken(-1L, "warm@example.com");
+            tokenProvider.parseToken(warm);
+            tokenProvider.parseToken(warm);
+        }
+        long hits = tokenCache.getHitCount();
+        long misses = tokenCache.getMissCount();
+
+        long start = System.nanoTime();
+        for (String token : tokens) {
+            assertThat(tokenProvider.parseToken(token)).isPresent();
+        }
+        long verifyNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (String token : tokens) {
+            assertThat(tokenProvider.parseToken(token)).isPresent();
+        }
+        long hitNanos = System.nanoTime() - start;
+
+        assertThat(tokenCache.getMissCount() - misses).isEqualTo(TOKENS);
+        assertThat(tokenCache.getHitCount() - hits).isEqualTo(TOKENS);
+        System.out.printf("Token parse: full verification %d ns/op, cache hit %d ns/op%n",
+                verifyNanos / TOKENS, hitNanos / TOKENS);
+        assertThat(hitNanos).as("cache hits vs full verification").isLessThan(verifyNanos / 2);
+    }
+}
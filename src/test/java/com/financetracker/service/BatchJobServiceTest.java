@@ -0,0 +1,148 @@
+package com.financetracker.service;
+
+import com.financetracker.IntegrationTest;
+import com.financetracker.dto.BatchJobStatusDto;
+import com.financetracker.dto.TransactionDto;
+import com.financetracker.entity.BatchJob;
+import com.financetracker.entity.BatchJobPartition;
+import com.financetracker.entity.MonthlyRollup;
+import com.financetracker.repository.BatchJobPartitionRepository;
+import com.financetracker.repository.BatchJobRepository;
+import com.financetracker.repository.MonthlyRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A job left RUNNING by a crash is resumed on startup with only the partitions it had not
+ * checkpointed; checkpointed partitions are not processed again
+ */
+class BatchJobServiceTest extends IntegrationTest {
+
+    private static final int USERS_PER_PARTITION = 3;
+    private static final long WAIT_MS = 30_000;
+
+    @Autowired
+    private BatchJobService batchJobService;
+
+    @Autowired
+    private BatchJobRepository jobRepository;
+
+    @Autowired
+    private BatchJobPartitionRepository partitionRepository;
+
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void resumesOnlyUnfinishedPartitions() throws Exception {
+        // Three ranges of users whose rollups have drifted; the crashed run had finished the first
+        List<List<Long>> ranges = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            List<Long> users = new ArrayList<>();
+            for (int j = 0; j < USERS_PER_PARTITION; j++) {
+                users.add(createUserWithDriftedRollup());
+            }
+            ranges.add(users);
+        }
+        BatchJob job = jobRepository.save(BatchJob.builder()
+                .task("rollups")
+                .status(BatchJob.Status.RUNNING)
+                .totalUsers((long) USERS_PER_PARTITION * ranges.size())
+                .partitions(ranges.size())
+                .startedAt(LocalDateTime.now().minusMinutes(5))
+                .build());
+        for (int i = 0; i < ranges.size(); i++) {
+            List<Long> users = ranges.get(i);
+            boolean done = i == 0;
+            partitionRepository.save(BatchJobPartition.builder()
+                    .jobId(job.getId())
+                    .partitionIndex(i)
+                    .fromUserId(users.get(0))
+                    .toUserId(users.get(users.size() - 1) + 1)
+                    .done(done)
+                    .usersProcessed(done ? (long) USERS_PER_PARTITION : 0L)
+                    .usersFailed(0L)
+                    .corrections(0L)
+                    .finishedAt(done ? LocalDateTime.now().minusMinutes(4) : null)
+                    .build());
+        }
+
+        batchJobService.resumeInterrupted();
+        BatchJob finished = awaitFinished(job.getId());
+
+        assertThat(finished.getStatus()).isEqualTo(BatchJob.Status.COMPLETED);
+        assertThat(finished.getFinishedAt()).isNotNull();
+        assertThat(partitionRepository.findByJobIdAndDoneFalseOrderByPartitionIndex(job.getId())).isEmpty();
+        for (Long userId : ranges.get(0)) {
+            assertThat(rollup(userId).getTotalAmount()).as("user %d of the checkpointed range", userId)
+                    .isEqualByComparingTo("99");
+        }
+        for (List<Long> resumed : ranges.subList(1, ranges.size())) {
+            for (Long userId : resumed) {
+                MonthlyRollup rollup = rollup(userId);
+                assertThat(rollup.getTotalAmount()).as("user %d of a resumed range", userId).isEqualByComparingTo("25.50");
+                assertThat(rollup.getTransactionCount()).isEqualTo(2);
+            }
+        }
+
+        BatchJobStatusDto status = batchJobService.getJobs().stream()
+                .filter(candidate -> candidate.getId().equals(job.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(status.getStatus()).isEqualTo("COMPLETED");
+        assertThat(status.getUsersProcessed()).isEqualTo((long) USERS_PER_PARTITION * ranges.size());
+        assertThat(status.getPartitionsDone()).isEqualTo(ranges.size());
+        assertThat(status.getCorrections()).as("one drifted bucket per resumed user")
+                .isEqualTo((long) USERS_PER_PARTITION * (ranges.size() - 1));
+    }
+
+    private Long createUserWithDriftedRollup() {
+        Long userId = createUser();
+        Long categoryId = createCategory(userId, "Food", "EXPENSE");
+        for (String amount : List.of("10.00", "15.50")) {
+            transactionService.createTransaction(userId, TransactionDto.builder()
+                    .title("Lunch")
+                    .amount(new BigDecimal(amount))
+                    .type("EXPENSE")
+                    .categoryId(categoryId)
+                    .transactionDate(LocalDate.of(2025, 4, 2))
+                    .build());
+        }
+        jdbcTemplate.update("UPDATE transaction_monthly_rollups SET total_amount = 99, transaction_count = 7 " +
+                "WHERE user_id = ?", userId);
+        return userId;
+    }
+
+    private MonthlyRollup rollup(Long userId) {
+        List<MonthlyRollup> rollups = rollupRepository.findByUserId(userId);
+        assertThat(rollups).hasSize(1);
+        return rollups.get(0);
+    }
+
+    private BatchJob awaitFinished(Long jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            BatchJob job = jobRepository.findById(jobId).orElseThrow();
+            if (job.getStatus() != BatchJob.Status.RUNNING) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Batch job " + jobId + " still running after " + WAIT_MS + " ms");
+    }
+}
@@ -0,0 +1,160 @@
+package com.financetracker.service;
+
+import com.financetracker.IntegrationTest;
+import com.financetracker.dto.BudgetDto;
+import com.financetracker.dto.BudgetStatusDto;
+import com.financetracker.dto.TransactionDto;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Budget running totals follow every transaction write without re-reading transactions, agree
+ * with a reload from the database, and move to the new period when a boundary is crossed
+ */
+class BudgetServiceTest extends IntegrationTest {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @AfterEach
+    void restoreClock() {
+        budgetService.setClock(Clock.systemDefaultZone());
+    }
+
+    @Test
+    void runningTotalsFollowCreateUpdateAndDelete() {
+        setToday(LocalDate.of(2025, 3, 15));
+        Long userId = createUser();
+        Long foodId = createCategory(userId, "Food", "EXPENSE");
+        Long rentId = createCategory(userId, "Rent", "EXPENSE");
+        Long allId = createBudget(userId, "All", "MONTHLY", null, "100");
+        Long foodBudgetId = createBudget(userId, "Food", "MONTHLY", foodId, "50");
+        assertSpent(userId, allId, "0", foodBudgetId, "0");
+
+        Long lunchId = expense(userId, foodId, "30", LocalDate.of(2025, 3, 10));
+        Long flatId = expense(userId, rentId, "20", LocalDate.of(2025, 3, 12));
+        Long februaryId = expense(userId, foodId, "15", LocalDate.of(2025, 2, 28));
+        transactionService.createTransaction(userId, TransactionDto.builder()
+                .title("Salary")
+                .amount(new BigDecimal("100"))
+                .type("INCOME")
+                .categoryId(foodId)
+                .transactionDate(LocalDate.of(2025, 3, 1))
+                .build());
+        assertSpent(userId, allId, "50", foodBudgetId, "30");
+        assertThat(status(userId, foodBudgetId).getUtilization()).isEqualByComparingTo("0.6");
+
+        // An update is applied as remove-then-add, so it can move spending out of and into the period
+        update(userId, lunchId, "45", LocalDate.of(2025, 2, 20));
+        assertSpent(userId, allId, "20", foodBudgetId, "0");
+        update(userId, februaryId, "15", LocalDate.of(2025, 3, 1));
+        assertSpent(userId, allId, "35", foodBudgetId, "15");
+        update(userId, februaryId, "25", LocalDate.of(2025, 3, 1));
+        assertSpent(userId, allId, "45", foodBudgetId, "25");
+
+        transactionService.deleteTransaction(userId, flatId);
+        assertSpent(userId, allId, "25", foodBudgetId, "25");
+        assertThat(status(userId, allId).getRemaining()).isEqualByComparingTo("75");
+        assertThat(status(userId, foodBudgetId).getUtilization()).isEqualByComparingTo("0.5");
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        List<BudgetStatusDto> cached = budgetService.getStatuses(userId);
+        assertThat(statistics.getPrepareStatementCount()).as("statements for a cached status read").isZero();
+
+        budgetService.refresh(userId);
+        assertThat(budgetService.getStatuses(userId)).as("totals reloaded from the database")
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(cached);
+    }
+
+    @Test
+    void totalsRollOverAtPeriodBoundaries() {
+        // Sunday: the week and the month are both still running
+        setToday(LocalDate.of(2025, 3, 30));
+        Long userId = createUser();
+        Long foodId = createCategory(userId, "Food", "EXPENSE");
+        Long rentId = createCategory(userId, "Rent", "EXPENSE");
+        Long monthlyId = createBudget(userId, "Month", "MONTHLY", null, "100");
+        Long weeklyId = createBudget(userId, "Week", "WEEKLY", foodId, "50");
+        expense(userId, foodId, "20", LocalDate.of(2025, 3, 29));
+        expense(userId, rentId, "10", LocalDate.of(2025, 3, 30));
+        assertSpent(userId, monthlyId, "30", weeklyId, "20");
+        assertPeriod(userId, weeklyId, LocalDate.of(2025, 3, 24), LocalDate.of(2025, 3, 30));
+
+        // Monday: a write arrives before any read, so the event itself finds the totals stale
+        setToday(LocalDate.of(2025, 3, 31));
+        expense(userId, foodId, "5", LocalDate.of(2025, 3, 31));
+        assertSpent(userId, monthlyId, "35", weeklyId, "5");
+        assertPeriod(userId, weeklyId, LocalDate.of(2025, 3, 31), LocalDate.of(2025, 4, 6));
+        assertPeriod(userId, monthlyId, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31));
+
+        // April: the month starts over while the week carries on
+        setToday(LocalDate.of(2025, 4, 1));
+        assertSpent(userId, monthlyId, "0", weeklyId, "5");
+        assertPeriod(userId, monthlyId, LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 30));
+        expense(userId, foodId, "7", LocalDate.of(2025, 4, 1));
+        assertSpent(userId, monthlyId, "7", weeklyId, "12");
+    }
+
+    private void setToday(LocalDate today) {
+        ZoneId zone = ZoneId.systemDefault();
+        budgetService.setClock(Clock.fixed(today.atTime(12, 0).atZone(zone).toInstant(), zone));
+    }
+
+    private Long createBudget(Long userId, String name, String period, Long categoryId, String limit) {
+        return budgetService.createBudget(userId, BudgetDto.builder()
+                .name(name)
+                .period(period)
+                .categoryId(categoryId)
+                .budgetLimit(new BigDecimal(limit))
+                .build()).getId();
+    }
+
+    private Long expense(Long userId, Long categoryId, String amount, LocalDate date) {
+        return transactionService.createTransaction(userId, expenseDto(categoryId, amount, date)).getId();
+    }
+
+    private void update(Long userId, Long id, String amount, LocalDate date) {
+        // Updates keep the transaction's category and type
+        transactionService.updateTransaction(userId, id, expenseDto(null, amount, date));
+    }
+
+    private static TransactionDto expenseDto(Long categoryId, String amount, LocalDate date) {
+        return TransactionDto.builder()
+                .title("Expense")
+                .amount(new BigDecimal(amount))
+                .type("EXPENSE")
+                .categoryId(categoryId)
+                .transactionDate(date)
+                .build();
+    }
+
+    private BudgetStatusDto status(Long userId, Long budgetId) {
+        return budgetService.getStatus(userId, budgetId);
+    }
+
+    private void assertSpent(Long userId, Long firstId, String firstSpent, Long secondId, String secondSpent) {
+        assertThat(status(userId, firstId).getSpent()).as("spent of budget %d", firstId).isEqualByComparingTo(firstSpent);
+        assertThat(status(userId, secondId).getSpent()).as("spent of budget %d", secondId).isEqualByComparingTo(secondSpent);
+    }
+
+    private void assertPeriod(Long userId, Long budgetId, LocalDate start, LocalDate end) {
+        BudgetStatusDto status = status(userId, budgetId);
+        assertThat(status.getPeriodStart()).isEqualTo(start);
+        assertThat(status.getPeriodEnd()).isEqualTo(end);
+    }
+}
@@ -0,0 +1,91 @@
+package com.financetracker.service;
+
+import com.financetracker.IntegrationTest;
+import com.financetracker.security.JwtTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Event streams never outlive the access token they were opened with, and logging out closes
+ * the user's open streams instead of leaving them to run until their timeout
+ */
+class NotificationHubTest extends IntegrationTest {
+
+    @Autowired
+    private NotificationHub notificationHub;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${app.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Test
+    void timeoutIsCappedAtTokenLifetime() {
+        Long userId = createUser();
+        long now = System.currentTimeMillis();
+
+        SseEmitter shortLived = notificationHub.subscribe(userId, now + 60_000);
+        assertThat(shortLived.getTimeout()).isBetween(50_000L, 60_000L);
+
+        SseEmitter longLived = notificationHub.subscribe(userId, now + timeoutMs * 10);
+        assertThat(longLived.getTimeout()).isEqualTo(timeoutMs);
+
+        SseEmitter expired = notificationHub.subscribe(userId, now - 1_000);
+        assertThat(expired.getTimeout()).isEqualTo(1L);
+    }
+
+    @Test
+    void logoutCompletesOpenStreams() throws Exception {
+        Long userId = createUser();
+        String token = tokenProvider.generateToken(userId, "events@example.com");
+        String refreshToken = refreshTokenService.issue(userId);
+
+        MvcResult first = openStream(token);
+        MvcResult second = openStream(token);
+        assertThat(isCompleted(first, 200)).isFalse();
+
+        mockMvc.perform(post("/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(isCompleted(first, 1_000)).isTrue();
+        assertThat(isCompleted(second, 1_000)).isTrue();
+    }
+
+    private MvcResult openStream(String token) throws Exception {
+        return mockMvc.perform(get("/notifications/stream")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static boolean isCompleted(MvcResult result, long waitMs) {
+        try {
+            result.getAsyncResult(waitMs);
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+}
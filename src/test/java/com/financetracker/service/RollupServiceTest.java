@@ -0,0 +1,106 @@
+package com.financetracker.service;
+
+import com.financetracker.IntegrationTest;
+import com.financetracker.dto.TransactionDto;
+import com.financetracker.entity.MonthlyRollup;
+import com.financetracker.entity.Transaction;
+import com.financetracker.repository.MonthlyRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollupServiceTest extends IntegrationTest {
+
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentFirstWritesToOneBucketAllCount() throws Exception {
+        Long userId = createUser();
+        Long categoryId = createCategory(userId, "Food", "EXPENSE");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            // Each month is a new bucket that every writer races to create
+            for (int month = 1; month <= 12; month++) {
+                LocalDate date = LocalDate.of(2025, month, 14);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> results = new ArrayList<>();
+                for (int i = 0; i < WRITERS; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        RollupDeltas deltas = new RollupDeltas();
+                        deltas.add(date, categoryId, Transaction.TransactionType.EXPENSE, new BigDecimal("2.50"));
+                        transaction.executeWithoutResult(status -> rollupService.apply(userId, deltas));
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<MonthlyRollup> rollups = rollupRepository.findByUserId(userId);
+        assertThat(rollups).hasSize(12);
+        assertThat(rollups).allSatisfy(rollup -> {
+            assertThat(rollup.getTotalAmount()).isEqualByComparingTo("20.00");
+            assertThat(rollup.getTransactionCount()).isEqualTo(WRITERS);
+        });
+    }
+
+    @Test
+    void rebuildCorrectsDriftPerUser() {
+        Long userId = createUser();
+        Long categoryId = createCategory(userId, "Food", "EXPENSE");
+        for (String amount : List.of("10.00", "15.50")) {
+            transactionService.createTransaction(userId, TransactionDto.builder()
+                    .title("Lunch")
+                    .amount(new BigDecimal(amount))
+                    .type("EXPENSE")
+                    .categoryId(categoryId)
+                    .transactionDate(LocalDate.of(2025, 4, 2))
+                    .build());
+        }
+        jdbcTemplate.update("UPDATE transaction_monthly_rollups SET total_amount = 99, transaction_count = 7 " +
+                "WHERE user_id = ?", userId);
+
+        RollupService.RebuildReport report = rollupService.rebuild();
+
+        assertThat(report.drifted()).isGreaterThanOrEqualTo(1);
+        assertThat(rollupService.rebuildUser(userId).corrections()).isZero();
+        MonthlyRollup rollup = rollupRepository.findByUserId(userId).get(0);
+        assertThat(rollup.getTotalAmount()).isEqualByComparingTo("25.50");
+        assertThat(rollup.getTransactionCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,102 @@
+package com.financetracker.service;
+
+import com.financetracker.IntegrationTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Searches a 100k-transaction index in well under a millisecond, matching what the database
+ * returns for the same words, and reports when a prefix matched too many terms to search them all
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionSearchIndexTest extends IntegrationTest {
+
+    private static final int ROWS = 100_000;
+    private static final int LIMIT = 50;
+    private static final int WARM_UP = 500;
+    private static final int MEASURED = 2_000;
+    private static final double MAX_MEAN_MICROS = 1_000;
+
+    @Autowired
+    private TransactionSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    /**
+     * Titles cycle through four phrases plus a merchant code m0..m999; descriptions carry a
+     * card code c0..c12
+     */
+    @BeforeAll
+    void createTransactions() {
+        userId = createUser();
+        Long categoryId = createCategory(userId, "Shopping", "EXPENSE");
+        Long firstId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1000000 FROM transactions", Long.class);
+        jdbcTemplate.update("INSERT INTO transactions (id, title, description, amount, type, category_id, user_id, " +
+                        "transaction_date, change_version, created_at, updated_at) " +
+                        "SELECT ? + X, CASE MOD(X, 4) WHEN 0 THEN 'Coffee shop' WHEN 1 THEN 'Grocery store' " +
+                        "WHEN 2 THEN 'Coffee beans' ELSE 'Fuel station' END || ' m' || MOD(X, 1000), " +
+                        "'card c' || MOD(X, 13), 1.00, 'EXPENSE', ?, ?, TIMESTAMP '2025-01-01 00:00:00', 1, " +
+                        "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)",
+                firstId, categoryId, userId, ROWS);
+    }
+
+    @Test
+    void matchesTheDatabase() {
+        assertSearch("coffee c7", "(MOD(X, 4) IN (0, 2)) AND MOD(X, 13) = 7");
+        assertSearch("grocery m12", "MOD(X, 4) = 1 AND (MOD(X, 1000) = 12 OR MOD(X, 1000) BETWEEN 120 AND 129)");
+        assertSearch("card beans fuel", "FALSE");
+        assertSearch("station", "MOD(X, 4) = 3");
+        assertThat(searchIndex.search(userId, "coffee nomatch", LIMIT).ids()).isEmpty();
+    }
+
+    @Test
+    void searchTakesUnderAMillisecond() {
+        List<String> queries = List.of("coffee c7", "grocery m12", "card c3", "shop m5", "beans fuel");
+        searchIndex.search(userId, "coffee", LIMIT);
+        for (int i = 0; i < WARM_UP; i++) {
+            searchIndex.search(userId, queries.get(i % queries.size()), LIMIT);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED; i++) {
+            searchIndex.search(userId, queries.get(i % queries.size()), LIMIT);
+        }
+        double meanMicros = (System.nanoTime() - start) / 1e3 / MEASURED;
+
+        System.out.printf("Search over %d transactions: %.1f us per query%n", ROWS, meanMicros);
+        assertThat(meanMicros).as("mean search time in microseconds").isLessThan(MAX_MEAN_MICROS);
+    }
+
+    @Test
+    void reportsTruncatedPrefixExpansion() {
+        // m1 starts m1, m10..m19 and m100..m199: 111 terms, more than one search covers
+        TransactionSearchIndex.Result wide = searchIndex.search(userId, "shop m1", LIMIT);
+        assertThat(wide.prefixTruncated()).isTrue();
+        assertThat(wide.ids()).isNotEmpty();
+
+        TransactionSearchIndex.Result narrow = searchIndex.search(userId, "shop m12", LIMIT);
+        assertThat(narrow.prefixTruncated()).isFalse();
+    }
+
+    private void assertSearch(String query, String condition) {
+        List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM (SELECT id, id - (SELECT MIN(id) - 1 FROM " +
+                "transactions WHERE user_id = ?) AS X FROM transactions WHERE user_id = ?) WHERE " + condition +
+                " ORDER BY id DESC LIMIT " + LIMIT, Long.class, userId, userId);
+
+        TransactionSearchIndex.Result result = searchIndex.search(userId, query, LIMIT);
+
+        assertThat(Arrays.stream(result.ids()).boxed().toList()).as(query).containsExactlyElementsOf(expected);
+        assertThat(result.prefixTruncated()).as(query).isFalse();
+    }
+}
@@ -0,0 +1,153 @@
+package com.financetracker.service;
+
+import com.financetracker.IntegrationTest;
+import com.financetracker.dto.TimeSeriesDto;
+import com.financetracker.dto.TransactionDto;
+import com.financetracker.security.JwtTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Time series hold one entry per bucket, empty buckets included, with weeks starting on Monday
+ * and the requested range widened to whole buckets
+ */
+class TransactionTimeSeriesTest extends IntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void dailySeriesFillsGapsWithZero() {
+        Long userId = createUser();
+        Long categoryId = createCategory(userId, "Food", "EXPENSE");
+        create(userId, categoryId, "EXPENSE", "10.25", LocalDate.of(2025, 3, 3));
+        create(userId, categoryId, "EXPENSE", "0.50", LocalDate.of(2025, 3, 3));
+        create(userId, categoryId, "INCOME", "100.00", LocalDate.of(2025, 3, 3));
+        create(userId, categoryId, "EXPENSE", "4.75", LocalDate.of(2025, 3, 6));
+        create(userId, categoryId, "EXPENSE", "99.00", LocalDate.of(2025, 2, 28));
+
+        TimeSeriesDto series = transactionService.getTimeSeries(userId, "day",
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 7), null);
+
+        assertThat(series.getGranularity()).isEqualTo("day");
+        assertThat(series.getBucketStart()).containsExactly(
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 3),
+                LocalDate.of(2025, 3, 4), LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 6),
+                LocalDate.of(2025, 3, 7));
+        assertThat(series.getIncomeCents()).containsExactly(0, 0, 10_000, 0, 0, 0, 0);
+        assertThat(series.getExpenseCents()).containsExactly(0, 0, 1_075, 0, 0, 475, 0);
+    }
+
+    @Test
+    void weeksStartOnMondayAndCoverWholeWeeks() {
+        Long userId = createUser();
+        Long categoryId = createCategory(userId, "Food", "EXPENSE");
+        create(userId, categoryId, "EXPENSE", "1.00", LocalDate.of(2025, 3, 2));   // Sunday before the first week
+        create(userId, categoryId, "EXPENSE", "2.00", LocalDate.of(2025, 3, 3));   // Monday, before the requested start
+        create(userId, categoryId, "EXPENSE", "3.00", LocalDate.of(2025, 3, 9));   // Sunday closing the first week
+        create(userId, categoryId, "EXPENSE", "4.00", LocalDate.of(2025, 3, 10));  // Monday opening the second week
+        create(userId, categoryId, "INCOME", "5.00", LocalDate.of(2025, 3, 23));   // Sunday, after the requested end
+        create(userId, categoryId, "EXPENSE", "6.00", LocalDate.of(2025, 3, 24));  // Monday after the last week
+
+        // Wednesday to Wednesday
+        TimeSeriesDto series = transactionService.getTimeSeries(userId, "week",
+                LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 19), null);
+
+        assertThat(series.getBucketStart()).containsExactly(
+                LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 17));
+        assertThat(series.getExpenseCents()).containsExactly(500, 400, 0);
+        assertThat(series.getIncomeCents()).containsExactly(0, 0, 500);
+    }
+
+    @Test
+    void weekSpanningNewYearStartsInDecember() {
+        Long userId = createUser();
+        Long categoryId = createCategory(userId, "Food", "EXPENSE");
+        create(userId, categoryId, "EXPENSE", "7.00", LocalDate.of(2024, 12, 31));
+        create(userId, categoryId, "EXPENSE", "8.00", LocalDate.of(2025, 1, 5));
+
+        TimeSeriesDto series = transactionService.getTimeSeries(userId, "week",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 1), null);
+
+        assertThat(series.getBucketStart()).containsExactly(LocalDate.of(2024, 12, 30));
+        assertThat(series.getExpenseCents()).containsExactly(1_500);
+    }
+
+    @Test
+    void monthlySeriesComesFromRollupsWithEmptyMonths() {
+        Long userId = createUser();
+        Long categoryId = createCategory(userId, "Food", "EXPENSE");
+        create(userId, categoryId, "EXPENSE", "12.34", LocalDate.of(2025, 1, 31));
+        create(userId, categoryId, "INCOME", "2000.00", LocalDate.of(2025, 3, 1));
+        create(userId, categoryId, "EXPENSE", "0.66", LocalDate.of(2025, 3, 31));
+
+        TimeSeriesDto series = transactionService.getTimeSeries(userId, "month",
+                LocalDate.of(2025, 1, 15), LocalDate.of(2025, 4, 10), null);
+
+        assertThat(series.getBucketStart()).containsExactly(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1),
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 4, 1));
+        assertThat(series.getExpenseCents()).containsExactly(1_234, 0, 66, 0);
+        assertThat(series.getIncomeCents()).containsExactly(0, 0, 200_000, 0);
+    }
+
+    @Test
+    void rejectsUnknownGranularityAndOversizedRanges() {
+        Long userId = createUser();
+
+        assertThatThrownBy(() -> transactionService.getTimeSeries(userId, "hour",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 2), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Granularity must be day, week or month");
+        assertThatThrownBy(() -> transactionService.getTimeSeries(userId, "day",
+                LocalDate.of(2000, 1, 1), LocalDate.of(2025, 1, 1), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("A time series has at most 4018 buckets");
+        assertThat(transactionService.getTimeSeries(userId, "month",
+                LocalDate.of(2000, 1, 1), LocalDate.of(2025, 1, 1), null).getBucketStart()).hasSize(301);
+    }
+
+    @Test
+    void responseIsColumnar() throws Exception {
+        Long userId = createUser();
+        Long categoryId = createCategory(userId, "Food", "EXPENSE");
+        create(userId, categoryId, "EXPENSE", "3.50", LocalDate.of(2025, 3, 2));
+
+        mockMvc.perform(get("/transactions/timeseries")
+                        .param("granularity", "day")
+                        .param("start", "2025-03-01")
+                        .param("end", "2025-03-03")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.generateToken(userId, "series@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.bucketStart", contains("2025-03-01", "2025-03-02", "2025-03-03")))
+                .andExpect(jsonPath("$.data.incomeCents", contains(0, 0, 0)))
+                .andExpect(jsonPath("$.data.expenseCents", contains(0, 350, 0)));
+    }
+
+    private void create(Long userId, Long categoryId, String type, String amount, LocalDate date) {
+        transactionService.createTransaction(userId, TransactionDto.builder()
+                .title(type.equals("INCOME") ? "Salary" : "Expense")
+                .amount(new BigDecimal(amount))
+                .type(type)
+                .categoryId(categoryId)
+                .transactionDate(date)
+                .build());
+    }
+}